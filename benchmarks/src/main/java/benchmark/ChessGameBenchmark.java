@@ -0,0 +1,89 @@
+package benchmark;
+
+import chess.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChessGameBenchmark {
+
+    static final Map<String, String> POSITIONS = Map.of(
+            "start", Fen.START_POSITION,
+            "middlegame", "r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4",
+            "checkmate", "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+
+    // White and black knights hop out and back, returning to the starting position.
+    private static final ChessMove[] KNIGHT_CYCLE = {
+            new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null),
+            new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null),
+            new ChessMove(new ChessPosition(3, 6), new ChessPosition(1, 7), null),
+            new ChessMove(new ChessPosition(6, 6), new ChessPosition(8, 7), null)
+    };
+
+    @State(Scope.Thread)
+    public static class Position {
+        @Param({"start", "middlegame", "checkmate"})
+        public String position;
+
+        ChessGame game;
+
+        @Setup
+        public void setup() {
+            game = Fen.parse(POSITIONS.get(position));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StartingGame {
+        ChessGame game;
+
+        @Setup
+        public void setup() {
+            game = new ChessGame();
+        }
+    }
+
+    @Benchmark
+    public void validMovesAllPieces(Position state, Blackhole blackhole) {
+        ChessGame game = state.game;
+        ChessBoard board = game.getBoard();
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPosition square = new ChessPosition(row, col);
+                ChessPiece piece = board.getPiece(square);
+                if (piece != null && piece.getTeamColor() == game.getTeamTurn()) {
+                    blackhole.consume(game.validMoves(square));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean isInCheckmate(Position state) {
+        ChessGame game = state.game;
+        return game.isInCheckmate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public ChessBoard boardClone(Position state) {
+        return state.game.getBoard().clone();
+    }
+
+    /**
+     * Four validated moves per invocation; the position is unchanged afterwards.
+     */
+    @Benchmark
+    public ChessGame makeMoveKnightCycle(StartingGame state) throws InvalidMoveException {
+        for (ChessMove move : KNIGHT_CYCLE) {
+            state.game.makeMove(move);
+        }
+        return state.game;
+    }
+}
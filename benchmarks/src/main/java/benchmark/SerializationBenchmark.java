@@ -0,0 +1,65 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.GameCodec;
+import com.google.gson.Gson;
+import model.GameData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private final Gson gson = new Gson();
+    private ChessGame game;
+    private GameData gameData;
+    private String gameJson;
+    private String gameDataJson;
+    private byte[] gameBinary;
+
+    @Setup
+    public void setup() {
+        game = Fen.parse(ChessGameBenchmark.POSITIONS.get("middlegame"));
+        gameData = new GameData(1, "white", "black", "benchmark", game);
+        gameJson = gson.toJson(game);
+        gameDataJson = gson.toJson(gameData);
+        gameBinary = GameCodec.encode(game);
+    }
+
+    @Benchmark
+    public byte[] gameToBinary() {
+        return GameCodec.encode(game);
+    }
+
+    @Benchmark
+    public ChessGame gameFromBinary() {
+        return GameCodec.decode(gameBinary);
+    }
+
+    @Benchmark
+    public String gameToJson() {
+        return gson.toJson(game);
+    }
+
+    @Benchmark
+    public ChessGame gameFromJson() {
+        return gson.fromJson(gameJson, ChessGame.class);
+    }
+
+    @Benchmark
+    public GameData gameDataRoundTrip() {
+        return gson.fromJson(gson.toJson(gameData), GameData.class);
+    }
+
+    @Benchmark
+    public GameData gameDataFromJson() {
+        return gson.fromJson(gameDataJson, GameData.class);
+    }
+}
@@ -0,0 +1,151 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import com.google.gson.Gson;
+import dataaccess.DataAccessException;
+import dataaccess.MemoryAuthDAO;
+import dataaccess.MemoryGameDAO;
+import model.AuthData;
+import model.GameData;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.openjdk.jmh.annotations.*;
+import server.WebSocketServerEndpoint;
+import websocket.commands.UserGameCommand;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@link WebSocketServerEndpoint#onMessage} with in-memory DAOs and stub sessions, so
+ * the numbers cover command parsing, validation, move handling and broadcast encoding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketBenchmark {
+
+    private static final int GAME_ID = 1;
+
+    @Param({"0", "10"})
+    public int observers;
+
+    private final Gson gson = new Gson();
+    private final LongAdder bytesSent = new LongAdder();
+    private WebSocketServerEndpoint endpoint;
+    private Session white;
+    private Session black;
+    private String[] cycle;
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+
+    @Setup
+    public void setup() throws DataAccessException {
+        // The endpoint logs every message; keep that out of the measurement output.
+        originalOut = System.out;
+        originalErr = System.err;
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+
+        MemoryAuthDAO authDAO = new MemoryAuthDAO();
+        MemoryGameDAO gameDAO = new MemoryGameDAO();
+        authDAO.insertAuth(new AuthData("white-token", "white"));
+        authDAO.insertAuth(new AuthData("black-token", "black"));
+        gameDAO.insertGame(new GameData(GAME_ID, "white", "black", "benchmark", new ChessGame()));
+        // Run commands on the benchmark thread so each invocation measures a whole move.
+        endpoint = new WebSocketServerEndpoint(authDAO, gameDAO, 0);
+
+        white = connect("white-token");
+        black = connect("black-token");
+        for (int i = 0; i < observers; i++) {
+            authDAO.insertAuth(new AuthData("observer-" + i, "observer" + i));
+            connect("observer-" + i);
+        }
+
+        cycle = new String[]{
+                moveCommand("white-token", 1, 7, 3, 6),
+                moveCommand("black-token", 8, 7, 6, 6),
+                moveCommand("white-token", 3, 6, 1, 7),
+                moveCommand("black-token", 6, 6, 8, 7)
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+
+    /**
+     * Four MAKE_MOVE commands that move a knight out and back for each side.
+     */
+    @Benchmark
+    public long makeMoveCycle() {
+        endpoint.onMessage(white, cycle[0]);
+        endpoint.onMessage(black, cycle[1]);
+        endpoint.onMessage(white, cycle[2]);
+        endpoint.onMessage(black, cycle[3]);
+        return bytesSent.sum();
+    }
+
+    private Session connect(String authToken) {
+        Session session = stubSession();
+        endpoint.onOpen(session);
+        endpoint.onMessage(session, gson.toJson(
+                new UserGameCommand(UserGameCommand.CommandType.CONNECT, authToken, GAME_ID)));
+        return session;
+    }
+
+    private String moveCommand(String authToken, int fromRow, int fromCol, int toRow, int toCol) {
+        ChessMove move = new ChessMove(new ChessPosition(fromRow, fromCol), new ChessPosition(toRow, toCol), null);
+        return gson.toJson(new UserGameCommand(UserGameCommand.CommandType.MAKE_MOVE, authToken, GAME_ID, move));
+    }
+
+    private Session stubSession() {
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 0);
+        RemoteEndpoint remote = (RemoteEndpoint) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RemoteEndpoint.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("sendString")) {
+                        bytesSent.add(((String) args[0]).length());
+                        if (args.length == 2) {
+                            ((WriteCallback) args[1]).writeSuccess();
+                        }
+                    }
+                    return defaultValue(method.getReturnType());
+                });
+        return (Session) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Session.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getRemote" -> remote;
+                    case "getRemoteAddress" -> address;
+                    case "isOpen" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubSession@" + Integer.toHexString(System.identityHashCode(proxy));
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
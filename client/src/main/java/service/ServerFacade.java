@@ -2,12 +2,15 @@ package service;
 
 import chess.ChessGame;
 import com.google.gson.*;
-import com.google.gson.reflect.TypeToken;
 import dataaccess.*;
 import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+import model.GameSummary;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 public class ServerFacade {
@@ -67,11 +70,39 @@ public class ServerFacade {
         return responseMap.containsKey("gameID");
     }
 
-    public List<GameData> listGames() throws IOException {
-        String response = communicator.sendGetRequest("/game");
-        Type responseType = new TypeToken<Map<String, List<GameData>>>() {}.getType();
-        Map<String, List<GameData>> responseMap = gson.fromJson(response, responseType);
-        return responseMap.get("games");
+    /**
+     * Every game, fetched a page at a time.
+     */
+    public List<GameSummary> listGames() throws IOException {
+        List<GameSummary> games = new ArrayList<>();
+        GameQuery query = new GameQuery(0, GameQuery.MAX_LIMIT, null, null);
+        while (true) {
+            GamePage page = listGames(query);
+            games.addAll(page.games());
+            if (page.nextCursor() == null) {
+                return games;
+            }
+            query = query.after(page.nextCursor());
+        }
+    }
+
+    /**
+     * One page of games matching the query. Pass the page's {@code nextCursor} to
+     * {@link GameQuery#after} to get the next one.
+     */
+    public GamePage listGames(GameQuery query) throws IOException {
+        StringBuilder path = new StringBuilder("/game?limit=").append(query.limit());
+        if (query.after() > 0) {
+            path.append("&after=").append(query.after());
+        }
+        if (query.player() != null) {
+            path.append("&player=").append(URLEncoder.encode(query.player(), StandardCharsets.UTF_8));
+        }
+        if (query.status() != null) {
+            path.append("&status=").append(query.status());
+        }
+        GamePage page = gson.fromJson(communicator.sendGetRequest(path.toString()), GamePage.class);
+        return new GamePage(page.games() == null ? List.of() : page.games(), page.nextCursor());
     }
 
     public boolean joinGame(int gameId, String color) throws IOException {
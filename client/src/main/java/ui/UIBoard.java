@@ -52,7 +52,7 @@ public class UIBoard {
 
             for (int col = 1; col <= 8; col++) {
                 int actualCol = whiteBottom ? col : 9 - col; // Adjust columns for perspective
-                ChessPosition position = new ChessPosition(row, actualCol);
+                ChessPosition position = ChessPosition.of(row, actualCol);
                 ChessPiece piece = chessBoard.getPiece(position);
                 String pieceSymbol = getPieceSymbol(piece);
 
@@ -5,7 +5,7 @@ import chess.ChessPosition;
 import chess.ChessMove;
 import chess.ChessGame;
 import com.google.gson.Gson;
-import model.GameData;
+import model.GameSummary;
 import service.ServerFacade;
 import websocket.WebsocketCommunicator;
 import websocket.commands.UserGameCommand;
@@ -23,7 +23,7 @@ public class UIClient implements ServerMessageObserver {
     private boolean isObserver = false;
     private boolean isWhitePlayer = false; // Track if the player is White
     private String username;
-    private List<GameData> games;
+    private List<GameSummary> games;
     private ChessGame chessGame;
     private int gameID = -1;
 
@@ -291,7 +291,7 @@ public class UIClient implements ServerMessageObserver {
         if (col < 1 || col > 8 || row < 1 || row > 8) {
             throw new IllegalArgumentException("Invalid position: " + position);
         }
-        return new ChessPosition(row, col);
+        return ChessPosition.of(row, col);
     }
 
     private ChessPiece.PieceType parsePromotion(String promotion) {
@@ -320,7 +320,7 @@ public class UIClient implements ServerMessageObserver {
 
     private void displayGamesList() {
         for (int i = 0; i < games.size(); i++) {
-            GameData game = games.get(i);
+            GameSummary game = games.get(i);
             System.out.printf("%d: %s | WHITE: %s | BLACK: %s%n",
                     i + 1,
                     game.gameName(),
@@ -349,7 +349,7 @@ public class UIClient implements ServerMessageObserver {
 
         String positionString = parts[1];
         try {
-            ChessPosition position = new ChessPosition(
+            ChessPosition position = ChessPosition.of(
                     Character.getNumericValue(positionString.charAt(1)),
                     positionString.charAt(0) - 'a' + 1
             );
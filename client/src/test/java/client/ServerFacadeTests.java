@@ -3,7 +3,7 @@ package client;
 import org.junit.jupiter.api.*;
 import service.ServerFacade;
 import server.Server;
-import model.GameData;
+import model.GameSummary;
 
 import java.util.List;
 
@@ -172,7 +172,7 @@ public class ServerFacadeTests {
             serverFacade.register(username, password, "test@example.com");
             serverFacade.login(username, password);
 
-            List<GameData> games = serverFacade.listGames();
+            List<GameSummary> games = serverFacade.listGames();
             assertNotNull(games, "Game list should not be null.");
             assertTrue(games.size() >= 0, "Game list should be empty or contain games.");
 
@@ -205,9 +205,9 @@ public class ServerFacadeTests {
             serverFacade.login(username, password);
             boolean gameCreated = serverFacade.createGame(gameName);
             assertTrue(gameCreated, "Game creation should succeed.");
-            List<GameData> games = serverFacade.listGames();
+            List<GameSummary> games = serverFacade.listGames();
             int gameId = -1;
-            for (GameData game : games) {
+            for (GameSummary game : games) {
                 if (game.gameName().equals(gameName)) {
                     gameId = game.gameID();
                     break;
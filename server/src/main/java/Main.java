@@ -1,10 +1,16 @@
 import chess.*;
 import server.Server;
 
+import java.util.Arrays;
+import java.util.List;
+
 public class Main {
     public static void main(String[] args) {
         var piece = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
         System.out.println("♕ 240 Chess Server: " + piece);
-        new Server().run(8080);
+        List<String> options = Arrays.asList(args);
+        boolean virtualThreads = options.contains("--virtual-threads");
+        boolean inMemory = options.contains("--in-memory");
+        new Server().run(8080, virtualThreads, inMemory);
     }
 }
\ No newline at end of file
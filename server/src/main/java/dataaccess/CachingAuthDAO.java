@@ -0,0 +1,212 @@
+package dataaccess;
+
+import model.AuthData;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps recently checked auth tokens in memory in front of another {@link AuthDAO}, so the
+ * token lookup behind every request is usually a map hit instead of a query.
+ * <br/>
+ * A known token is trusted for {@code ttlMillis} after it was loaded; an unknown one is
+ * remembered as missing for the shorter {@code negativeTtlMillis}, so repeated bad tokens do
+ * not reach the database either. Logging out or clearing goes to the backing DAO first and
+ * then drops the cached tokens at once, so a deleted token is never accepted again. At most
+ * {@code maxTokens} tokens are held, least recently used first out.
+ */
+public class CachingAuthDAO implements AuthDAO {
+
+    public static final int DEFAULT_MAX_TOKENS = 10_000;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    // A load and a delete of the same token are serialized, so a lookup that started before a
+    // logout cannot put the token back afterwards.
+    private static final int LOCK_STRIPES = 64;
+
+    private final AuthDAO delegate;
+    private final int maxTokens;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    // Access-ordered, so the eldest entry is always the least recently used token.
+    private final LinkedHashMap<String, Entry> tokens;
+    // Bumped by clearAuths, so loads that were already running do not repopulate the cache.
+    private long generation;
+    private long lastSweep;
+
+    public CachingAuthDAO(AuthDAO delegate) {
+        this(delegate, DEFAULT_MAX_TOKENS, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    public CachingAuthDAO(AuthDAO delegate, int maxTokens, long ttlMillis, long negativeTtlMillis) {
+        this(delegate, maxTokens, ttlMillis, negativeTtlMillis, System::nanoTime);
+    }
+
+    CachingAuthDAO(AuthDAO delegate, int maxTokens, long ttlMillis, long negativeTtlMillis, LongSupplier clock) {
+        if (maxTokens < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one token");
+        }
+        this.delegate = delegate;
+        this.maxTokens = maxTokens;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        this.clock = clock;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.tokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CachingAuthDAO.this.maxTokens;
+            }
+        };
+    }
+
+    @Override
+    public AuthData getAuth(String authToken) throws DataAccessException {
+        if (authToken == null) {
+            return delegate.getAuth(null);
+        }
+        Entry cached = lookup(authToken);
+        if (cached != null) {
+            return cached.data;
+        }
+        Lock lock = lockFor(authToken);
+        lock.lock();
+        try {
+            cached = lookup(authToken);
+            if (cached != null) {
+                return cached.data;
+            }
+            long loadGeneration = generation();
+            AuthData loaded = delegate.getAuth(authToken);
+            store(authToken, loaded, loadGeneration);
+            return loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void insertAuth(AuthData authData) throws DataAccessException {
+        Lock lock = lockFor(authData.authToken());
+        lock.lock();
+        try {
+            long insertGeneration = generation();
+            try {
+                delegate.insertAuth(authData);
+            } catch (DataAccessException e) {
+                invalidate(authData.authToken());
+                throw e;
+            }
+            store(authData.authToken(), authData, insertGeneration);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteAuth(String authToken) throws DataAccessException {
+        Lock lock = lockFor(authToken);
+        lock.lock();
+        try {
+            try {
+                delegate.deleteAuth(authToken);
+            } finally {
+                invalidate(authToken);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clearAuths() throws DataAccessException {
+        try {
+            delegate.clearAuths();
+        } finally {
+            synchronized (tokens) {
+                generation++;
+                tokens.clear();
+            }
+        }
+    }
+
+    /**
+     * Number of tokens, known or unknown, currently held in memory.
+     */
+    public int size() {
+        synchronized (tokens) {
+            evictExpired(clock.getAsLong());
+            return tokens.size();
+        }
+    }
+
+    private Entry lookup(String authToken) {
+        long now = clock.getAsLong();
+        synchronized (tokens) {
+            Entry entry = tokens.get(authToken);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAt >= 0) {
+                tokens.remove(authToken);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void store(String authToken, AuthData authData, long expectedGeneration) {
+        long now = clock.getAsLong();
+        long expiresAt = now + (authData == null ? negativeTtlNanos : ttlNanos);
+        synchronized (tokens) {
+            if (generation != expectedGeneration) {
+                return;  // Cleared while loading; the result may already be gone
+            }
+            // Expired tokens are otherwise dropped on lookup or by LRU order; sweeping now and
+            // then keeps dead ones from pushing out live tokens without a scan on every miss.
+            if (now - lastSweep >= negativeTtlNanos) {
+                evictExpired(now);
+            }
+            tokens.put(authToken, new Entry(authData, expiresAt));
+        }
+    }
+
+    private void invalidate(String authToken) {
+        synchronized (tokens) {
+            tokens.remove(authToken);
+        }
+    }
+
+    private long generation() {
+        synchronized (tokens) {
+            return generation;
+        }
+    }
+
+    private void evictExpired(long now) {
+        lastSweep = now;
+        Iterator<Entry> iterator = tokens.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().expiresAt >= 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private Lock lockFor(String authToken) {
+        return locks[Math.floorMod(authToken.hashCode(), LOCK_STRIPES)];
+    }
+
+    private record Entry(AuthData data, long expiresAt) {
+    }
+}
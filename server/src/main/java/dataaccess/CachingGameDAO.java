@@ -0,0 +1,319 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps recently used games in memory in front of another {@link GameDAO}. Reads are served
+ * from memory once a game is loaded, and every write goes to the backing DAO before the
+ * cached copy is replaced, so the database always holds the latest state.
+ * <br/>
+ * The cache holds at most {@code maxGames} games and drops a game that has not been read or
+ * written for {@code idleTimeoutMillis}. Games are copied on the way in and out, so callers
+ * can keep mutating the {@link ChessGame} they were handed without touching the cache.
+ */
+public class CachingGameDAO implements GameDAO {
+
+    public static final int DEFAULT_MAX_GAMES = 1024;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    // Loads and writes of the same game are serialized so a slow load can never overwrite a newer
+    // write. These are locks rather than monitors so virtual threads waiting on the database
+    // do not pin their carrier.
+    private static final int LOCK_STRIPES = 64;
+
+    private final GameDAO delegate;
+    private final int maxGames;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    // Access-ordered, so the eldest entry is always the least recently used game.
+    private final LinkedHashMap<Integer, Entry> games;
+
+    public CachingGameDAO(GameDAO delegate) {
+        this(delegate, DEFAULT_MAX_GAMES, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    public CachingGameDAO(GameDAO delegate, int maxGames, long idleTimeoutMillis) {
+        this(delegate, maxGames, idleTimeoutMillis, System::nanoTime);
+    }
+
+    CachingGameDAO(GameDAO delegate, int maxGames, long idleTimeoutMillis, LongSupplier clock) {
+        if (maxGames < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one game");
+        }
+        this.delegate = delegate;
+        this.maxGames = maxGames;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.clock = clock;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.games = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > CachingGameDAO.this.maxGames;
+            }
+        };
+    }
+
+    @Override
+    public GameData getGame(int gameID) throws DataAccessException {
+        GameData cached = lookup(gameID);
+        if (cached != null) {
+            return copy(cached);
+        }
+        Lock lock = lockFor(gameID);
+        lock.lock();
+        try {
+            cached = lookup(gameID);
+            if (cached != null) {
+                return copy(cached);
+            }
+            GameData loaded = delegate.getGame(gameID);
+            if (loaded != null) {
+                store(copy(loaded));
+            }
+            return loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int insertGame(GameData gameData) throws DataAccessException {
+        Lock lock = lockFor(gameData.gameID());
+        lock.lock();
+        try {
+            int gameID = delegate.insertGame(gameData);
+            if (gameID == gameData.gameID()) {
+                store(copy(gameData));
+            }
+            return gameID;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void updateGame(GameData gameData) throws DataAccessException {
+        Lock lock = lockFor(gameData.gameID());
+        lock.lock();
+        try {
+            try {
+                delegate.updateGame(gameData);
+            } catch (DataAccessException e) {
+                invalidate(gameData.gameID());
+                throw e;
+            }
+            store(copy(gameData));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean claimSeat(int gameID, ChessGame.TeamColor color, String username) throws DataAccessException {
+        return writeSeat(gameID, color, username, () -> delegate.claimSeat(gameID, color, username));
+    }
+
+    @Override
+    public boolean releaseSeat(int gameID, ChessGame.TeamColor color, String username) throws DataAccessException {
+        return writeSeat(gameID, color, null, () -> delegate.releaseSeat(gameID, color, username));
+    }
+
+    @Override
+    public void updateGameState(int gameID, ChessGame updatedGame) throws DataAccessException {
+        writeState(gameID, copy(updatedGame), snapshot -> {
+            if (delegate instanceof OwnedStateWrites owned) {
+                owned.updateOwnedState(gameID, snapshot);
+            } else {
+                delegate.updateGameState(gameID, snapshot);
+            }
+        });
+    }
+
+    @Override
+    public void appendMove(int gameID, ChessMove move, ChessGame updatedGame) throws DataAccessException {
+        writeState(gameID, copy(updatedGame), snapshot -> {
+            if (delegate instanceof OwnedStateWrites owned) {
+                owned.appendOwnedMove(gameID, move, snapshot);
+            } else {
+                delegate.appendMove(gameID, move, snapshot);
+            }
+        });
+    }
+
+    @Override
+    public Map<Integer, GameData> getAllGames() throws DataAccessException {
+        // Writes go through, so the backing store is never behind the cache.
+        return delegate.getAllGames();
+    }
+
+    @Override
+    public GamePage listGames(GameQuery query) throws DataAccessException {
+        return delegate.listGames(query);
+    }
+
+    @Override
+    public void clearGames() throws DataAccessException {
+        try {
+            delegate.clearGames();
+        } finally {
+            synchronized (games) {
+                games.clear();
+            }
+        }
+    }
+
+    private interface StateWrite {
+        void run(ChessGame snapshot) throws DataAccessException;
+    }
+
+    private interface SeatWrite {
+        boolean run() throws DataAccessException;
+    }
+
+    /**
+     * Runs a conditional write of one seat. On success the cached copy gets {@code seated} in
+     * that seat; otherwise the seat changed behind the cache's back, so the copy is dropped.
+     */
+    private boolean writeSeat(int gameID, ChessGame.TeamColor color, String seated, SeatWrite write)
+            throws DataAccessException {
+        Lock lock = lockFor(gameID);
+        lock.lock();
+        try {
+            boolean written;
+            try {
+                written = write.run();
+            } catch (DataAccessException e) {
+                invalidate(gameID);
+                throw e;
+            }
+            GameData cached = lookup(gameID);
+            if (cached != null && written) {
+                store(withSeat(cached, color, seated));
+            } else if (cached != null) {
+                invalidate(gameID);
+            }
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a write that changes only the game state, then updates the cached copy to match.
+     * The snapshot is a copy that neither the cache nor the backing DAO mutates, so both keep
+     * the same one and each write clones the board once.
+     */
+    private void writeState(int gameID, ChessGame snapshot, StateWrite write) throws DataAccessException {
+        Lock lock = lockFor(gameID);
+        lock.lock();
+        try {
+            try {
+                write.run(snapshot);
+            } catch (DataAccessException e) {
+                invalidate(gameID);
+                throw e;
+            }
+            GameData cached = lookup(gameID);
+            if (cached != null) {
+                store(new GameData(gameID, cached.whiteUsername(), cached.blackUsername(),
+                        cached.gameName(), snapshot));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of games currently held in memory.
+     */
+    public int size() {
+        synchronized (games) {
+            evictIdle(clock.getAsLong());
+            return games.size();
+        }
+    }
+
+    private GameData lookup(int gameID) {
+        long now = clock.getAsLong();
+        synchronized (games) {
+            Entry entry = games.get(gameID);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.lastAccess > idleTimeoutNanos) {
+                games.remove(gameID);
+                return null;
+            }
+            entry.lastAccess = now;
+            return entry.data;
+        }
+    }
+
+    private void store(GameData gameData) {
+        long now = clock.getAsLong();
+        synchronized (games) {
+            evictIdle(now);
+            games.put(gameData.gameID(), new Entry(gameData, now));
+        }
+    }
+
+    private void invalidate(int gameID) {
+        synchronized (games) {
+            games.remove(gameID);
+        }
+    }
+
+    private void evictIdle(long now) {
+        Iterator<Entry> iterator = games.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastAccess <= idleTimeoutNanos) {
+                break;  // Everything after this was used more recently
+            }
+            iterator.remove();
+        }
+    }
+
+    private Lock lockFor(int gameID) {
+        return locks[Math.floorMod(gameID, LOCK_STRIPES)];
+    }
+
+    private static GameData withSeat(GameData gameData, ChessGame.TeamColor color, String username) {
+        return color == ChessGame.TeamColor.WHITE
+                ? new GameData(gameData.gameID(), username, gameData.blackUsername(), gameData.gameName(), gameData.game())
+                : new GameData(gameData.gameID(), gameData.whiteUsername(), username, gameData.gameName(), gameData.game());
+    }
+
+    private static GameData copy(GameData gameData) {
+        return new GameData(gameData.gameID(), gameData.whiteUsername(), gameData.blackUsername(),
+                gameData.gameName(), copy(gameData.game()));
+    }
+
+    private static ChessGame copy(ChessGame game) {
+        return game == null ? null : game.clone();
+    }
+
+    private static final class Entry {
+        private final GameData data;
+        private long lastAccess;
+
+        private Entry(GameData data, long lastAccess) {
+            this.data = data;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
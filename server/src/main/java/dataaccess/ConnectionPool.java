@@ -0,0 +1,377 @@
+package dataaccess;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded pool of JDBC connections. Callers borrow a connection and close it as usual;
+ * closing hands the physical connection back to the pool instead of ending the session.
+ * <br/>
+ * At most {@code maxSize} connections are open at once. A borrower that finds none free
+ * waits up to {@code acquireTimeoutMillis} and then fails. Connections that sat idle for a
+ * while are checked with {@link Connection#isValid} before they are handed out. A background
+ * task closes connections idle longer than {@code idleTimeoutMillis}, keeping at least
+ * {@code minSize} open.
+ * <br/>
+ * A borrowed connection cannot be unwrapped to the physical one. Statements are not wrapped,
+ * though, so {@link java.sql.Statement#getConnection} on a statement made from a borrowed
+ * connection returns the physical connection. Callers must not close or keep that connection;
+ * closing the statement's creator is how a connection goes back to the pool.
+ */
+public class ConnectionPool {
+
+    /**
+     * Opens a new physical connection.
+     */
+    interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /**
+     * Point-in-time pool metrics.
+     */
+    public record Stats(int total, int idle, int active, int waiting,
+                        long borrowed, long created, long destroyed,
+                        long timeouts, long validationFailures) {
+    }
+
+    // Connections used this recently are handed out without a validation round trip.
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final long acquireTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // Most recently returned first, so the oldest idle connections collect at the tail.
+    private final Deque<Idle> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService reaper;
+    private int total;
+    private int waiting;
+    private boolean closed;
+    private long borrowed;
+    private long created;
+    private long destroyed;
+    private long timeouts;
+    private long validationFailures;
+
+    ConnectionPool(ConnectionFactory factory, int minSize, int maxSize,
+                   long idleTimeoutMillis, long acquireTimeoutMillis) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min " + minSize + ", max " + maxSize);
+        }
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        this.reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        reaper.scheduleWithFixedDelay(this::maintain, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, opening a new one if the pool is below its maximum size.
+     *
+     * @throws SQLException if no connection frees up within the acquisition timeout, or a
+     *                      new connection cannot be opened
+     */
+    Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + acquireTimeoutNanos;
+        while (true) {
+            Idle candidate = null;
+            boolean create = false;
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    if (!idle.isEmpty()) {
+                        candidate = idle.pollFirst();
+                        break;
+                    }
+                    if (total < maxSize) {
+                        total++;
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeouts++;
+                        throw new SQLException("Timed out after " + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos)
+                                + " ms waiting for a database connection (" + total + " in use)");
+                    }
+                    waiting++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiting--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                return lend(open());
+            }
+            if (System.nanoTime() - candidate.since < VALIDATION_BYPASS_NANOS || isValid(candidate.connection)) {
+                return lend(candidate.connection);
+            }
+            lock.lock();
+            try {
+                validationFailures++;
+            } finally {
+                lock.unlock();
+            }
+            destroy(candidate.connection);
+        }
+    }
+
+    Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(total, idle.size(), total - idle.size(), waiting,
+                    borrowed, created, destroyed, timeouts, validationFailures);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes every idle connection and stops handing out new ones. Borrowed connections are
+     * closed as they come back.
+     */
+    void close() {
+        List<Idle> drained;
+        lock.lock();
+        try {
+            closed = true;
+            drained = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        reaper.shutdownNow();
+        for (Idle entry : drained) {
+            destroy(entry.connection);
+        }
+    }
+
+    /**
+     * Closes connections idle past the timeout, then opens connections up to the minimum.
+     */
+    void maintain() {
+        List<Idle> expired = new ArrayList<>();
+        int missing;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            while (total - expired.size() > minSize && !idle.isEmpty()
+                    && now - idle.peekLast().since > idleTimeoutNanos) {
+                expired.add(idle.pollLast());
+            }
+            missing = closed ? 0 : Math.max(0, minSize - (total - expired.size()));
+            total += missing;
+        } finally {
+            lock.unlock();
+        }
+        for (Idle entry : expired) {
+            destroy(entry.connection);
+        }
+        for (int i = 0; i < missing; i++) {
+            try {
+                release(open());
+            } catch (SQLException e) {
+                // The database is unreachable; give back the slots not yet tried and retry next round.
+                lock.lock();
+                try {
+                    total -= missing - i - 1;
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Opens a physical connection for a slot already counted in {@code total}.
+     */
+    private Connection open() throws SQLException {
+        try {
+            Connection connection = factory.create();
+            lock.lock();
+            try {
+                created++;
+            } finally {
+                lock.unlock();
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private Connection lend(Connection connection) {
+        lock.lock();
+        try {
+            borrowed++;
+        } finally {
+            lock.unlock();
+        }
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Lease(connection));
+    }
+
+    private void release(Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                destroy(connection);
+                return;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            destroy(connection);
+            return;
+        }
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.addFirst(new Idle(connection, System.nanoTime()));
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(connection);
+    }
+
+    private void destroy(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Already broken; nothing left to release.
+        }
+        lock.lock();
+        try {
+            total--;
+            destroyed++;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private record Idle(Connection connection, long since) {
+    }
+
+    /**
+     * The borrower's view of a pooled connection. Closing it returns the connection to the
+     * pool; any other call after that fails as it would on a closed connection.
+     */
+    private final class Lease implements InvocationHandler {
+        // Cleared on close. Not guarded by a monitor, so a virtual thread running a query
+        // through the lease is never pinned to its carrier.
+        private final AtomicReference<Connection> connection;
+
+        private Lease(Connection connection) {
+            this.connection = new AtomicReference<>(connection);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    Connection returned = connection.getAndSet(null);
+                    if (returned != null) {
+                        release(returned);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    Connection current = connection.get();
+                    return current == null || current.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled" + connection.get();
+                }
+                // Handing out the physical connection would let a caller close or keep it
+                // after the lease went back to the pool.
+                case "unwrap" -> {
+                    Class<?> type = (Class<?>) args[0];
+                    if (type.isInstance(proxy)) {
+                        return proxy;
+                    }
+                    throw new SQLException("Pooled connections cannot be unwrapped to " + type.getName());
+                }
+                case "isWrapperFor" -> {
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                }
+                default -> {
+                    Connection current = connection.get();
+                    if (current == null) {
+                        throw new SQLException("Connection is closed");
+                    }
+                    try {
+                        return method.invoke(current, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ public class DatabaseManager {
     private static final String USER;
     private static final String PASSWORD;
     private static final String CONNECTION_URL;
+    private static final ConnectionPool POOL;
 
     /*
      * Load the database information for the db.properties file.
@@ -26,7 +27,14 @@ public class DatabaseManager {
 
                 var host = props.getProperty("db.host");
                 var port = Integer.parseInt(props.getProperty("db.port"));
-                CONNECTION_URL = String.format("jdbc:mysql://%s:%d", host, port);
+                // Lets JDBC batches go out as multi-row statements
+                CONNECTION_URL = String.format("jdbc:mysql://%s:%d?rewriteBatchedStatements=true", host, port);
+
+                POOL = new ConnectionPool(DatabaseManager::openConnection,
+                        Integer.parseInt(props.getProperty("db.pool.minSize", "2")),
+                        Integer.parseInt(props.getProperty("db.pool.maxSize", "16")),
+                        Long.parseLong(props.getProperty("db.pool.idleTimeoutMillis", "300000")),
+                        Long.parseLong(props.getProperty("db.pool.acquireTimeoutMillis", "5000")));
             }
         } catch (Exception ex) {
             throw new RuntimeException("unable to process db.properties. " + ex.getMessage());
@@ -60,7 +68,21 @@ public class DatabaseManager {
                     whiteUsername VARCHAR(50),
                     blackUsername VARCHAR(50),
                     gameName VARCHAR(100) NOT NULL,
-                    gameState TEXT
+                    gameState TEXT,
+                    gameBinary VARBINARY(64),
+                    gameOver BOOLEAN NOT NULL DEFAULT FALSE,
+                    snapshotPly INT NOT NULL DEFAULT 0,
+                    INDEX games_white (whiteUsername, id),
+                    INDEX games_black (blackUsername, id),
+                    INDEX games_over (gameOver, id)
+                )""",
+                    """
+                CREATE TABLE IF NOT EXISTS game_moves (
+                    game_id INT NOT NULL,
+                    ply INT NOT NULL,
+                    move SMALLINT UNSIGNED NOT NULL,
+                    played_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+                    PRIMARY KEY (game_id, ply)
                 )""",
                     """
                 CREATE TABLE IF NOT EXISTS auth (
@@ -75,6 +97,14 @@ public class DatabaseManager {
                     preparedStatement.executeUpdate();
                 }
             }
+            addColumnIfMissing(conn, "games", "gameOver", "BOOLEAN NOT NULL DEFAULT FALSE");
+            // Legacy JSON rows are moved over lazily by SQLGameDAO as they are read
+            addColumnIfMissing(conn, "games", "gameBinary", "VARBINARY(64)");
+            addColumnIfMissing(conn, "games", "snapshotPly", "INT NOT NULL DEFAULT 0");
+            // Let filtered game list pages seek straight to their rows
+            addIndexIfMissing(conn, "games", "games_white", "whiteUsername, id");
+            addIndexIfMissing(conn, "games", "games_black", "blackUsername, id");
+            addIndexIfMissing(conn, "games", "games_over", "gameOver, id");
 
         } catch (SQLException e) {
             throw new DataAccessException(e.getMessage());
@@ -82,24 +112,83 @@ public class DatabaseManager {
     }
 
     /**
-     * Create a connection to the database and sets the catalog based upon the
-     * properties specified in db.properties. Connections to the database should
-     * be short-lived, and you must close the connection when you are done with it.
+     * Adds a column to a table created by an older version of the server. Existing rows get
+     * the column's default.
+     */
+    private static void addColumnIfMissing(Connection conn, String table, String column, String definition)
+            throws SQLException {
+        String query = "SELECT 1 FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+        try (var preparedStatement = conn.prepareStatement(query)) {
+            preparedStatement.setString(1, DATABASE_NAME);
+            preparedStatement.setString(2, table);
+            preparedStatement.setString(3, column);
+            try (var rs = preparedStatement.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        try (var preparedStatement = conn.prepareStatement(
+                "ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition)) {
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    /**
+     * Adds an index to a table created by an older version of the server.
+     */
+    private static void addIndexIfMissing(Connection conn, String table, String index, String columns)
+            throws SQLException {
+        String query = "SELECT 1 FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND INDEX_NAME = ?";
+        try (var preparedStatement = conn.prepareStatement(query)) {
+            preparedStatement.setString(1, DATABASE_NAME);
+            preparedStatement.setString(2, table);
+            preparedStatement.setString(3, index);
+            try (var rs = preparedStatement.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        try (var preparedStatement = conn.prepareStatement(
+                "CREATE INDEX " + index + " ON " + table + " (" + columns + ")")) {
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool, with the catalog already set to the database named
+     * in db.properties. Connections to the database should be short-lived, and you must close
+     * the connection when you are done with it; closing returns it to the pool.
      * The easiest way to do that is with a try-with-resource block.
      * <br/>
      * <code>
-     * try (var conn = DbInfo.getConnection(databaseName)) {
+     * try (var conn = DatabaseManager.getConnection()) {
      * // execute SQL statements.
      * }
      * </code>
+     * <br/>
+     * Pool sizing can be tuned with the optional {@code db.pool.minSize}, {@code db.pool.maxSize},
+     * {@code db.pool.idleTimeoutMillis} and {@code db.pool.acquireTimeoutMillis} properties.
      */
     static Connection getConnection() throws DataAccessException {
         try {
-            var conn = DriverManager.getConnection(CONNECTION_URL, USER, PASSWORD);
-            conn.setCatalog(DATABASE_NAME);
-            return conn;
+            return POOL.borrow();
         } catch (SQLException e) {
             throw new DataAccessException(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Current connection pool metrics.
+     */
+    public static ConnectionPool.Stats poolStats() {
+        return POOL.stats();
+    }
+
+    private static Connection openConnection() throws SQLException {
+        var conn = DriverManager.getConnection(CONNECTION_URL, USER, PASSWORD);
+        conn.setCatalog(DATABASE_NAME);
+        return conn;
+    }
+}
@@ -1,15 +1,33 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.ChessMove;
 import model.GameData;
+import model.GamePage;
+import model.GameQuery;
 
+import java.util.List;
 import java.util.Map;
 
 public interface GameDAO {
     GameData getGame(int gameID) throws DataAccessException;
     int insertGame(GameData gameData) throws DataAccessException;
     void updateGame(GameData gameData) throws DataAccessException;
+    boolean claimSeat(int gameID, ChessGame.TeamColor color, String username) throws DataAccessException; // False if the game is missing or the seat is taken
+    boolean releaseSeat(int gameID, ChessGame.TeamColor color, String username) throws DataAccessException; // False unless username held the seat
     void updateGameState(int gameID, ChessGame updatedGame) throws DataAccessException; // Add this line
+    void appendMove(int gameID, ChessMove move, ChessGame updatedGame) throws DataAccessException; // Record one move; updatedGame is the state after it
     Map<Integer, GameData> getAllGames() throws DataAccessException;
+    GamePage listGames(GameQuery query) throws DataAccessException; // One page of the game list, without the boards
     void clearGames() throws DataAccessException;
+
+    /**
+     * Applies queued state writes for several games. DAOs that can send them in one round
+     * trip override this; by default each game's newest state is written on its own.
+     */
+    default void writeStates(List<GameStateWrite> writes) throws DataAccessException {
+        for (GameStateWrite write : writes) {
+            updateGameState(write.gameID(), write.latest());
+        }
+    }
 }
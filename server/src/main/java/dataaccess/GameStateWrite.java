@@ -0,0 +1,26 @@
+package dataaccess;
+
+import chess.ChessGame;
+
+import java.util.List;
+
+/**
+ * The state changes queued for one game, coalesced: the moves to log, in order, and the
+ * newest state. {@code discardAfter} is the lowest ply a full state write set the game back
+ * to, or {@link #NO_DISCARD} if only moves were queued; logged moves past it are dropped
+ * before the new moves go in, as {@link GameDAO#updateGameState} would have done.
+ */
+public record GameStateWrite(int gameID, List<LoggedMove> moves, ChessGame latest, int discardAfter) {
+
+    public static final int NO_DISCARD = -1;
+
+    /**
+     * A packed {@link chess.Move} and the ply it was played at.
+     */
+    public record LoggedMove(int ply, int move) {
+    }
+
+    public boolean replacesState() {
+        return discardAfter != NO_DISCARD;
+    }
+}
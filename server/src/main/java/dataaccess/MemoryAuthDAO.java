@@ -0,0 +1,38 @@
+package dataaccess;
+
+import model.AuthData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps auth tokens in a concurrent map, for running the server without a database.
+ */
+public class MemoryAuthDAO implements AuthDAO {
+
+    private final Map<String, AuthData> auths = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthData getAuth(String authToken) {
+        return authToken == null ? null : auths.get(authToken);
+    }
+
+    @Override
+    public void insertAuth(AuthData authData) throws DataAccessException {
+        if (auths.putIfAbsent(authData.authToken(), authData) != null) {
+            throw new DataAccessException("Duplicate entry '" + authData.authToken() + "' for key 'PRIMARY'");
+        }
+    }
+
+    @Override
+    public void deleteAuth(String authToken) {
+        if (authToken != null) {
+            auths.remove(authToken);
+        }
+    }
+
+    @Override
+    public void clearAuths() {
+        auths.clear();
+    }
+}
@@ -0,0 +1,179 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+import model.GameSummary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps games in memory, for running the server without a database. Games are held in ID
+ * order so the game list pages the same way as the SQL DAO, and IDs come from a counter
+ * that behaves like an auto-increment column.
+ * <br/>
+ * Reads never lock. Writes that change part of a game take a per-game lock stripe, so two
+ * writers of one game cannot lose each other's changes while other games proceed. Games are
+ * copied on the way in and out, as if they had been stored and read back.
+ */
+public class MemoryGameDAO implements GameDAO {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ConcurrentNavigableMap<Integer, GameData> games = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextID = new AtomicInteger(1);
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    public MemoryGameDAO() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public GameData getGame(int gameID) {
+        GameData gameData = games.get(gameID);
+        return gameData == null ? null : copy(gameData);
+    }
+
+    @Override
+    public int insertGame(GameData gameData) throws DataAccessException {
+        int gameID = gameData.gameID();
+        if (gameID <= 0) {
+            gameID = nextID.getAndIncrement();
+        } else {
+            int requested = gameID;
+            nextID.accumulateAndGet(requested + 1, Math::max);
+        }
+        GameData stored = new GameData(gameID, gameData.whiteUsername(), gameData.blackUsername(),
+                gameData.gameName(), copy(gameData.game()));
+        if (games.putIfAbsent(gameID, stored) != null) {
+            throw new DataAccessException("Duplicate entry '" + gameID + "' for key 'PRIMARY'");
+        }
+        return gameID;
+    }
+
+    @Override
+    public void updateGame(GameData gameData) {
+        Lock lock = lockFor(gameData.gameID());
+        lock.lock();
+        try {
+            games.replace(gameData.gameID(), copy(gameData));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean claimSeat(int gameID, ChessGame.TeamColor color, String username) {
+        return replaceSeat(gameID, color, null, username);
+    }
+
+    @Override
+    public boolean releaseSeat(int gameID, ChessGame.TeamColor color, String username) {
+        return username != null && replaceSeat(gameID, color, username, null);
+    }
+
+    @Override
+    public void updateGameState(int gameID, ChessGame updatedGame) {
+        Lock lock = lockFor(gameID);
+        lock.lock();
+        try {
+            GameData current = games.get(gameID);
+            if (current != null) {
+                games.put(gameID, new GameData(gameID, current.whiteUsername(), current.blackUsername(),
+                        current.gameName(), copy(updatedGame)));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void appendMove(int gameID, ChessMove move, ChessGame updatedGame) {
+        updateGameState(gameID, updatedGame);
+    }
+
+    @Override
+    public Map<Integer, GameData> getAllGames() {
+        Map<Integer, GameData> all = new HashMap<>();
+        for (GameData gameData : games.values()) {
+            all.put(gameData.gameID(), copy(gameData));
+        }
+        return all;
+    }
+
+    @Override
+    public GamePage listGames(GameQuery query) {
+        List<GameSummary> page = new ArrayList<>();
+        for (GameData gameData : games.tailMap(query.after(), false).values()) {
+            GameSummary summary = GameSummary.of(gameData);
+            if (!query.matches(summary)) {
+                continue;
+            }
+            if (page.size() == query.limit()) {
+                return new GamePage(page, page.get(page.size() - 1).gameID());
+            }
+            page.add(summary);
+        }
+        return new GamePage(page, null);
+    }
+
+    @Override
+    public void clearGames() {
+        games.clear();
+        nextID.set(1);
+    }
+
+    /**
+     * Puts {@code seated} in the seat if it currently holds {@code expected}.
+     */
+    private boolean replaceSeat(int gameID, ChessGame.TeamColor color, String expected, String seated) {
+        Lock lock = lockFor(gameID);
+        lock.lock();
+        try {
+            GameData current = games.get(gameID);
+            if (current == null) {
+                return false;
+            }
+            String held = color == ChessGame.TeamColor.WHITE ? current.whiteUsername() : current.blackUsername();
+            if (!Objects.equals(held, expected)) {
+                return false;
+            }
+            games.put(gameID, withSeat(current, color, seated));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock lockFor(int gameID) {
+        return locks[Math.floorMod(gameID, LOCK_STRIPES)];
+    }
+
+    private static GameData withSeat(GameData gameData, ChessGame.TeamColor color, String username) {
+        return color == ChessGame.TeamColor.WHITE
+                ? new GameData(gameData.gameID(), username, gameData.blackUsername(), gameData.gameName(), gameData.game())
+                : new GameData(gameData.gameID(), gameData.whiteUsername(), username, gameData.gameName(), gameData.game());
+    }
+
+    private static GameData copy(GameData gameData) {
+        return new GameData(gameData.gameID(), gameData.whiteUsername(), gameData.blackUsername(),
+                gameData.gameName(), copy(gameData.game()));
+    }
+
+    private static ChessGame copy(ChessGame game) {
+        return game == null ? null : game.clone();
+    }
+}
@@ -0,0 +1,32 @@
+package dataaccess;
+
+import model.UserData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps users in a concurrent map, for running the server without a database.
+ */
+public class MemoryUserDAO implements UserDAO {
+
+    private final Map<String, UserData> users = new ConcurrentHashMap<>();
+
+    @Override
+    public UserData getUser(String username) {
+        return username == null ? null : users.get(username);
+    }
+
+    @Override
+    public void insertUser(UserData user) throws DataAccessException {
+        if (users.putIfAbsent(user.username(), user) != null) {
+            // Same wording as MySQL, which RegisterService looks for
+            throw new DataAccessException("Duplicate entry '" + user.username() + "' for key 'username'");
+        }
+    }
+
+    @Override
+    public void clearUsers() {
+        users.clear();
+    }
+}
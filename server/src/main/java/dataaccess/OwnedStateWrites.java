@@ -0,0 +1,16 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+
+/**
+ * State writes for a {@link GameDAO} that would otherwise copy the game it is given before
+ * holding on to it. The caller hands over a copy that nobody mutates afterwards, so a DAO
+ * stacked on top that already made one can share it instead of the board being cloned twice.
+ */
+interface OwnedStateWrites {
+
+    void updateOwnedState(int gameID, ChessGame snapshot) throws DataAccessException;
+
+    void appendOwnedMove(int gameID, ChessMove move, ChessGame snapshot) throws DataAccessException;
+}
@@ -0,0 +1,431 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Move;
+import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Queues game state writes in memory in front of another {@link GameDAO} and writes them in
+ * the background, so a move is acknowledged as soon as it has been validated instead of after
+ * a database commit.
+ * <br/>
+ * Moves and state saves are queued per game. Several saves of the same game before the next
+ * flush collapse into one write of the newest state, and every game with pending work goes to
+ * the backing DAO together through {@link GameDAO#writeStates}, which the SQL DAO sends as
+ * JDBC batches. A flush starts {@code flushDelayMillis} after the first write it picks up.
+ * <br/>
+ * Only state writes are deferred. Inserting a game and rewriting its row go straight
+ * through, after any queued writes for that game, and claiming or releasing a seat goes
+ * straight through at once. Reading one game waits for its queued writes first; listing or
+ * reading all games waits for everything queued, so a finished game is never listed as still
+ * in progress. {@link #close} writes everything still queued.
+ */
+public class WriteBehindGameDAO implements GameDAO, OwnedStateWrites {
+
+    /**
+     * Point-in-time metrics: flushes written, state writes folded into an already queued one,
+     * and games waiting for the next flush.
+     */
+    public record Stats(long flushes, long coalesced, int pending) {
+    }
+
+    public static final long DEFAULT_FLUSH_DELAY_MILLIS = 10;
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    // How long a failed flush waits before trying again, how many times in a row a flush may
+    // fail after close before the writes still queued are given up, and how long a read
+    // waits for the game's queued writes before giving up.
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final int SHUTDOWN_ATTEMPTS = 3;
+    private static final long AWAIT_TIMEOUT_MILLIS = 10_000;
+
+    private final GameDAO delegate;
+    private final long flushDelayNanos;
+    private final int maxBatch;
+    private final long retryDelayMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled when work is queued or a read is waiting, and when a flush finishes.
+    private final Condition changed = lock.newCondition();
+    // Oldest first, so a flush that hits maxBatch takes the games that have waited longest.
+    private final LinkedHashMap<Integer, Pending> pending = new LinkedHashMap<>();
+    private final Set<Integer> inFlight = new HashSet<>();
+    // Games whose writes were still failing when the flusher gave up after close.
+    private final Set<Integer> unsaved = new TreeSet<>();
+    private final Thread flusher;
+    private long firstQueuedAt;
+    private boolean urgent;
+    private boolean closed;
+    private long flushes;
+    private long coalesced;
+
+    public WriteBehindGameDAO(GameDAO delegate) {
+        this(delegate, DEFAULT_FLUSH_DELAY_MILLIS, DEFAULT_MAX_BATCH);
+    }
+
+    public WriteBehindGameDAO(GameDAO delegate, long flushDelayMillis, int maxBatch) {
+        this(delegate, flushDelayMillis, maxBatch, RETRY_DELAY_MILLIS);
+    }
+
+    WriteBehindGameDAO(GameDAO delegate, long flushDelayMillis, int maxBatch, long retryDelayMillis) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch must hold at least one game");
+        }
+        this.delegate = delegate;
+        this.flushDelayNanos = TimeUnit.MILLISECONDS.toNanos(flushDelayMillis);
+        this.maxBatch = maxBatch;
+        this.retryDelayMillis = retryDelayMillis;
+        this.flusher = new Thread(this::runFlusher, "game-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public GameData getGame(int gameID) throws DataAccessException {
+        awaitFlushed(gameID);
+        return delegate.getGame(gameID);
+    }
+
+    @Override
+    public int insertGame(GameData gameData) throws DataAccessException {
+        awaitFlushed(gameData.gameID());
+        return delegate.insertGame(gameData);
+    }
+
+    @Override
+    public void updateGame(GameData gameData) throws DataAccessException {
+        awaitFlushed(gameData.gameID());
+        delegate.updateGame(gameData);
+    }
+
+    @Override
+    public boolean claimSeat(int gameID, ChessGame.TeamColor color, String username) throws DataAccessException {
+        // Queued state writes never touch the players, so seat writes do not wait for them.
+        return delegate.claimSeat(gameID, color, username);
+    }
+
+    @Override
+    public boolean releaseSeat(int gameID, ChessGame.TeamColor color, String username) throws DataAccessException {
+        return delegate.releaseSeat(gameID, color, username);
+    }
+
+    @Override
+    public void updateGameState(int gameID, ChessGame updatedGame) throws DataAccessException {
+        updateOwnedState(gameID, copy(updatedGame));
+    }
+
+    @Override
+    public void appendMove(int gameID, ChessMove move, ChessGame updatedGame) throws DataAccessException {
+        appendOwnedMove(gameID, move, copy(updatedGame));
+    }
+
+    @Override
+    public void updateOwnedState(int gameID, ChessGame snapshot) throws DataAccessException {
+        if (!enqueue(gameID, null, snapshot)) {
+            delegate.updateGameState(gameID, snapshot);
+        }
+    }
+
+    @Override
+    public void appendOwnedMove(int gameID, ChessMove move, ChessGame snapshot) throws DataAccessException {
+        if (!enqueue(gameID, move, snapshot)) {
+            delegate.appendMove(gameID, move, snapshot);
+        }
+    }
+
+    @Override
+    public Map<Integer, GameData> getAllGames() throws DataAccessException {
+        flush();
+        return delegate.getAllGames();
+    }
+
+    @Override
+    public GamePage listGames(GameQuery query) throws DataAccessException {
+        // A queued game-over changes how the game is listed, so the list waits like getAllGames
+        flush();
+        return delegate.listGames(query);
+    }
+
+    @Override
+    public void clearGames() throws DataAccessException {
+        lock.lock();
+        try {
+            pending.clear();
+            // A flush already under way would otherwise bring back games after the clear.
+            awaitIdle(Set::isEmpty);
+        } finally {
+            lock.unlock();
+        }
+        delegate.clearGames();
+    }
+
+    /**
+     * Writes everything queued so far and waits for it.
+     */
+    public void flush() throws DataAccessException {
+        lock.lock();
+        try {
+            awaitIdle(games -> pending.isEmpty() && games.isEmpty());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background flusher after writing everything queued. Later state writes go
+     * straight to the backing DAO.
+     *
+     * @throws DataAccessException if some queued writes still failed after
+     *                             {@value #SHUTDOWN_ATTEMPTS} attempts; the message names the games
+     */
+    public void close() throws DataAccessException {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            if (!unsaved.isEmpty()) {
+                throw new DataAccessException("Gave up saving games " + unsaved + " on shutdown");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(flushes, coalesced, pending.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a state write, or returns false once closed so the caller writes it directly.
+     * A null move means the whole state was saved.
+     */
+    private boolean enqueue(int gameID, ChessMove move, ChessGame game) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            Pending entry = pending.get(gameID);
+            if (entry == null) {
+                entry = new Pending();
+                pending.put(gameID, entry);
+                if (pending.size() == 1) {
+                    firstQueuedAt = System.nanoTime();
+                    changed.signalAll();
+                }
+            } else {
+                coalesced++;
+            }
+            if (move == null) {
+                entry.replaceState(game);
+            } else {
+                entry.moves.add(new GameStateWrite.LoggedMove(game.getPly(), Move.of(move)));
+                entry.latest = game;
+            }
+            if (pending.size() >= maxBatch) {
+                changed.signalAll();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitFlushed(int gameID) throws DataAccessException {
+        lock.lock();
+        try {
+            awaitIdle(games -> !pending.containsKey(gameID) && !games.contains(gameID));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private interface Idle {
+        boolean test(Set<Integer> inFlight);
+    }
+
+    /**
+     * Asks for an immediate flush and waits, holding the lock, until {@code idle} holds.
+     */
+    private void awaitIdle(Idle idle) throws DataAccessException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(AWAIT_TIMEOUT_MILLIS);
+        while (!idle.test(inFlight)) {
+            urgent = true;
+            changed.signalAll();
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new DataAccessException("Timed out waiting for queued game writes");
+            }
+            try {
+                changed.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataAccessException("Interrupted while waiting for queued game writes");
+            }
+        }
+    }
+
+    private void runFlusher() {
+        int failuresSinceClose = 0;
+        while (true) {
+            List<GameStateWrite> batch = new ArrayList<>();
+            lock.lock();
+            try {
+                try {
+                    while (!closed && (pending.isEmpty() || !due())) {
+                        if (pending.isEmpty()) {
+                            changed.await();
+                        } else {
+                            changed.awaitNanos(flushDelayNanos - (System.nanoTime() - firstQueuedAt));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                Iterator<Map.Entry<Integer, Pending>> iterator = pending.entrySet().iterator();
+                while (iterator.hasNext() && batch.size() < maxBatch) {
+                    Map.Entry<Integer, Pending> entry = iterator.next();
+                    batch.add(entry.getValue().toWrite(entry.getKey()));
+                    inFlight.add(entry.getKey());
+                    iterator.remove();
+                }
+                firstQueuedAt = System.nanoTime();
+                urgent = false;
+            } finally {
+                lock.unlock();
+            }
+
+            boolean failed = false;
+            if (!batch.isEmpty()) {
+                try {
+                    delegate.writeStates(batch);
+                } catch (DataAccessException | RuntimeException e) {
+                    System.err.println("[ERROR] Failed to save " + batch.size() + " games: " + e.getMessage());
+                    failed = true;
+                }
+            }
+
+            lock.lock();
+            try {
+                if (failed) {
+                    requeue(batch);
+                    if (closed && ++failuresSinceClose >= SHUTDOWN_ATTEMPTS) {
+                        unsaved.addAll(pending.keySet());
+                        pending.clear();
+                    }
+                } else if (!batch.isEmpty()) {
+                    flushes++;
+                    failuresSinceClose = 0;
+                }
+                for (GameStateWrite write : batch) {
+                    inFlight.remove(write.gameID());
+                }
+                changed.signalAll();
+                if (closed && pending.isEmpty()) {
+                    return;  // Nothing can be queued once closed
+                }
+                if (failed) {
+                    changed.await(retryDelayMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                closed = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private boolean due() {
+        return urgent || pending.size() >= maxBatch || System.nanoTime() - firstQueuedAt >= flushDelayNanos;
+    }
+
+    /**
+     * Puts a failed batch back in front of anything queued for the same games since.
+     */
+    private void requeue(List<GameStateWrite> batch) {
+        LinkedHashMap<Integer, Pending> merged = new LinkedHashMap<>();
+        for (GameStateWrite write : batch) {
+            Pending entry = new Pending();
+            entry.moves.addAll(write.moves());
+            entry.latest = write.latest();
+            entry.discardAfter = write.discardAfter();
+            Pending newer = pending.get(write.gameID());
+            if (newer != null) {
+                if (newer.discardAfter != GameStateWrite.NO_DISCARD) {
+                    entry.dropMovesAfter(newer.discardAfter);  // Played on a line a later save replaced
+                }
+                entry.moves.addAll(newer.moves);
+                entry.latest = newer.latest;
+                if (newer.discardAfter != GameStateWrite.NO_DISCARD) {
+                    entry.discardAfter = entry.discardAfter == GameStateWrite.NO_DISCARD
+                            ? newer.discardAfter : Math.min(entry.discardAfter, newer.discardAfter);
+                }
+            }
+            merged.put(write.gameID(), entry);
+        }
+        for (Map.Entry<Integer, Pending> entry : pending.entrySet()) {
+            merged.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        pending.clear();
+        pending.putAll(merged);
+    }
+
+    private static ChessGame copy(ChessGame game) {
+        return game == null ? null : game.clone();
+    }
+
+    /**
+     * Writes queued for one game since the last flush.
+     */
+    private static final class Pending {
+        private final List<GameStateWrite.LoggedMove> moves = new ArrayList<>();
+        private ChessGame latest;
+        private int discardAfter = GameStateWrite.NO_DISCARD;
+
+        private void replaceState(ChessGame game) {
+            int ply = game == null ? 0 : game.getPly();
+            // Moves past the new state belong to the line it replaces; logging them would
+            // leave rows after the snapshot for the next load to replay.
+            dropMovesAfter(ply);
+            discardAfter = discardAfter == GameStateWrite.NO_DISCARD ? ply : Math.min(discardAfter, ply);
+            latest = game;
+        }
+
+        private void dropMovesAfter(int ply) {
+            moves.removeIf(move -> move.ply() > ply);
+        }
+
+        private GameStateWrite toWrite(int gameID) {
+            return new GameStateWrite(gameID, List.copyOf(moves), latest, discardAfter);
+        }
+    }
+}
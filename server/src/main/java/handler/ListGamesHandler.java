@@ -5,7 +5,9 @@ import dataaccess.GameDAO;
 import dataaccess.UserDAO;
 import service.ClearService;
 import service.ListGamesService;
-import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+import model.GameSummary;
 import spark.*;
 import java.util.*;
 import com.google.gson.Gson;
@@ -30,11 +32,14 @@ public class ListGamesHandler {
                 res.status(401);
                 return gson.toJson(Map.of("message", "Error: Unauthorized"));
             }
-            List<GameData> games = listGamesService.listAllGames(authToken);
-            Map<String, Object> responseMap = new HashMap<>();
-            responseMap.put("games", games);
+            GameQuery query = parseQuery(req);
+            if (query == null) {
+                res.status(400);
+                return gson.toJson(createErrorResponse("Error: bad request"));
+            }
+            GamePage page = listGamesService.listGames(authToken, query);
             res.status(200);
-            return gson.toJson(responseMap);
+            return gson.toJson(page);
         }
         catch (IllegalArgumentException e) {
             res.status(401);
@@ -46,6 +51,27 @@ public class ListGamesHandler {
         }
     }
 
+    /**
+     * Reads the optional {@code after}, {@code limit}, {@code player} and {@code status}
+     * parameters. A missing limit means {@link GameQuery#DEFAULT_LIMIT} and a larger one is
+     * capped at {@link GameQuery#MAX_LIMIT}. Returns null if a parameter is malformed.
+     */
+    private GameQuery parseQuery(Request req) {
+        try {
+            String after = req.queryParams("after");
+            String limit = req.queryParams("limit");
+            String player = req.queryParams("player");
+            String status = req.queryParams("status");
+            return new GameQuery(
+                    after == null ? 0 : Integer.parseInt(after),
+                    limit == null ? GameQuery.DEFAULT_LIMIT : Math.min(Integer.parseInt(limit), GameQuery.MAX_LIMIT),
+                    player == null || player.isEmpty() ? null : player,
+                    status == null || status.isEmpty() ? null : GameSummary.Status.valueOf(status.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private Map<String, String> createErrorResponse(String message) {
         Map<String, String> errorResponse = new HashMap<>();
         errorResponse.put("message", message);
@@ -3,6 +3,8 @@ package handler;
 import com.google.gson.Gson;
 import dataaccess.*;
 import service.LoginService;
+import service.PasswordHasher;
+import service.ServiceUnavailableException;
 import spark.Request;
 import spark.Response;
 import model.AuthData;
@@ -15,9 +17,13 @@ public class LoginHandler {
     private final AuthDAO authDAO;
 
     public LoginHandler (UserDAO userDAO, AuthDAO authDAO) {
+        this(userDAO, authDAO, PasswordHasher.defaultHasher());
+    }
+
+    public LoginHandler (UserDAO userDAO, AuthDAO authDAO, PasswordHasher passwordHasher) {
         this.userDAO = userDAO;
         this.authDAO = authDAO;
-        this.loginService = new LoginService(userDAO, authDAO);
+        this.loginService = new LoginService(userDAO, authDAO, passwordHasher);
     }
 
     public Object handleLogin(Request req, Response res) {
@@ -33,6 +39,10 @@ public class LoginHandler {
         } catch (IllegalArgumentException e) {
             res.status(401);
             return gson.toJson(new ErrorResponse("Error: unauthorized"));
+        } catch (ServiceUnavailableException e) {
+            res.status(503);
+            res.header("Retry-After", "1");
+            return gson.toJson(new ErrorResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             res.status(500);
             return gson.toJson(new ErrorResponse("Error: " + e.getMessage()));
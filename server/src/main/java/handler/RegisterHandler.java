@@ -5,7 +5,9 @@ import dataaccess.AuthDAO;
 import dataaccess.GameDAO;
 import dataaccess.UserDAO;
 import service.ClearService;
+import service.PasswordHasher;
 import service.RegisterService;
+import service.ServiceUnavailableException;
 import model.UserData;
 import spark.*;
 
@@ -16,9 +18,13 @@ public class RegisterHandler {
     private final AuthDAO authDAO;
 
     public RegisterHandler (UserDAO userDAO, AuthDAO authDAO) {
+        this(userDAO, authDAO, PasswordHasher.defaultHasher());
+    }
+
+    public RegisterHandler (UserDAO userDAO, AuthDAO authDAO, PasswordHasher passwordHasher) {
         this.userDAO = userDAO;
         this.authDAO = authDAO;
-        this.registerService = new RegisterService(userDAO, authDAO);
+        this.registerService = new RegisterService(userDAO, authDAO, passwordHasher);
     }
 
     public Object handleRegister(Request req, Response res) {
@@ -36,6 +42,10 @@ public class RegisterHandler {
         } catch (IllegalArgumentException e) {
             res.status(403);
             return gson.toJson(new ErrorResponse("Error: Username already taken."));
+        } catch (ServiceUnavailableException e) {
+            res.status(503);
+            res.header("Retry-After", "1");
+            return gson.toJson(new ErrorResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             res.status(500);
             return gson.toJson(new ErrorResponse("Error: " + e.getMessage()));
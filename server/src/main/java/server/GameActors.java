@@ -0,0 +1,196 @@
+package server;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import dataaccess.DataAccessException;
+import dataaccess.GameDAO;
+import model.GameData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs websocket commands one game at a time. Games are sharded across a fixed set of
+ * single-threaded executors, so every command for a game runs on the same thread, in
+ * arrival order, while different games proceed in parallel.
+ * <br/>
+ * The shard thread owns the game's in-memory {@link GameData}: it is loaded once, mutated
+ * in place by later commands and saved through the DAO on the shard thread, which keeps
+ * saves for one game in order. Put a {@link dataaccess.WriteBehindGameDAO} behind it so those
+ * saves return without waiting for the database. Only call the accessors from inside a
+ * submitted task.
+ * <br/>
+ * With zero shards, commands run on the submitting thread. Shard threads can be virtual,
+ * which makes it cheap to use many shards so that a game blocked on the database holds up
+ * fewer of its neighbours.
+ */
+class GameActors {
+
+    private final GameDAO gameDAO;
+    private final ExecutorService[] shards;
+    private final Map<Integer, GameData> resident = new ConcurrentHashMap<>();
+
+    GameActors(GameDAO gameDAO, int shardCount) {
+        this(gameDAO, shardCount, false);
+    }
+
+    GameActors(GameDAO gameDAO, int shardCount, boolean virtualThreads) {
+        if (shardCount < 0) {
+            throw new IllegalArgumentException("Shard count cannot be negative");
+        }
+        this.gameDAO = gameDAO;
+        this.shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = Executors.newSingleThreadExecutor(threads("game-actor-" + i, virtualThreads));
+        }
+    }
+
+    /**
+     * Queues a command on the game's shard. Commands submitted after {@link #shutdown} are dropped.
+     */
+    void submit(int gameID, Runnable command) {
+        if (shards.length == 0) {
+            command.run();
+            return;
+        }
+        try {
+            shards[shard(gameID)].execute(command);
+        } catch (RejectedExecutionException e) {
+            System.err.println("[ERROR] Dropped command for game " + gameID + ": server is shutting down");
+        }
+    }
+
+    /**
+     * The resident game, loaded from the DAO on first use. Returns null if the game does not exist.
+     */
+    GameData game(int gameID) throws DataAccessException {
+        GameData gameData = resident.get(gameID);
+        if (gameData == null) {
+            gameData = gameDAO.getGame(gameID);
+            if (gameData != null) {
+                resident.put(gameID, gameData);
+            }
+        }
+        return gameData;
+    }
+
+    /**
+     * Re-reads the game from the DAO. The players always come from the DAO, which the HTTP
+     * join endpoint updates; with {@code keepState} the resident game state is kept.
+     */
+    GameData refresh(int gameID, boolean keepState) throws DataAccessException {
+        GameData stored = gameDAO.getGame(gameID);
+        if (stored == null) {
+            resident.remove(gameID);
+            return null;
+        }
+        GameData current = keepState ? resident.get(gameID) : null;
+        GameData refreshed = current == null ? stored : new GameData(gameID, stored.whiteUsername(),
+                stored.blackUsername(), stored.gameName(), current.game());
+        resident.put(gameID, refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Frees the seat if {@code username} still holds it, without rewriting the other seat or
+     * the game state, so a player who claimed a seat in the meantime keeps it. Returns the
+     * game with its players re-read, or null if the game no longer exists.
+     */
+    GameData releaseSeat(int gameID, ChessGame.TeamColor color, String username) throws DataAccessException {
+        gameDAO.releaseSeat(gameID, color, username);
+        return refresh(gameID, true);
+    }
+
+    /**
+     * Saves the current state of the resident game. Returns false if the save failed, in which
+     * case the resident copy is dropped and the next command reloads the stored game.
+     */
+    boolean saveState(int gameID, ChessGame game) {
+        GameData current = resident.get(gameID);
+        if (current != null && current.game() != game) {
+            resident.put(gameID, new GameData(gameID, current.whiteUsername(), current.blackUsername(),
+                    current.gameName(), game));
+        }
+        return write(gameID, () -> gameDAO.updateGameState(gameID, game));
+    }
+
+    /**
+     * Records a move just played on the resident game. Only the move is written, plus a
+     * snapshot now and then, rather than the whole state. Returns false if the save failed,
+     * as for {@link #saveState}.
+     */
+    boolean saveMove(int gameID, ChessMove move, ChessGame game) {
+        return write(gameID, () -> gameDAO.appendMove(gameID, move, game));
+    }
+
+    /**
+     * Drops the resident copy once nobody is connected to the game.
+     */
+    void release(int gameID) {
+        resident.remove(gameID);
+    }
+
+    int residentGames() {
+        return resident.size();
+    }
+
+    /**
+     * Stops accepting commands and finishes the queued ones.
+     */
+    void shutdown() {
+        awaitTermination(shards);
+    }
+
+    private interface Write {
+        void run() throws DataAccessException;
+    }
+
+    private boolean write(int gameID, Write write) {
+        try {
+            write.run();
+            return true;
+        } catch (DataAccessException | RuntimeException e) {
+            System.err.println("[ERROR] Failed to save game " + gameID + ": " + e.getMessage());
+            // The resident game already holds the unsaved change; building on it would let
+            // memory and the database drift apart, so start over from what was stored.
+            resident.remove(gameID);
+            return false;
+        }
+    }
+
+    private int shard(int gameID) {
+        return Math.floorMod(gameID, shards.length);
+    }
+
+    private static void awaitTermination(ExecutorService[] executors) {
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+        }
+        for (ExecutorService executor : executors) {
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    System.err.println("[ERROR] Timed out waiting for game commands to finish");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static ThreadFactory threads(String name, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name).factory();
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package server;
+
+import org.eclipse.jetty.websocket.api.Session;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the websocket sessions connected to each game, so broadcasts only touch the
+ * sessions in one game instead of every connected session.
+ */
+class GameRooms {
+
+    private final Map<Integer, Set<Session>> rooms = new ConcurrentHashMap<>();
+
+    void join(int gameID, Session session) {
+        // Added inside the map operation so a concurrent leave cannot drop the room in between.
+        rooms.compute(gameID, (id, sessions) -> {
+            if (sessions == null) {
+                sessions = ConcurrentHashMap.newKeySet();
+            }
+            sessions.add(session);
+            return sessions;
+        });
+    }
+
+    /**
+     * Removes the session from the game, dropping the room once it is empty.
+     */
+    void leave(int gameID, Session session) {
+        rooms.computeIfPresent(gameID, (id, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * Live view of the sessions in a game. Safe to iterate while sessions join and leave.
+     */
+    Set<Session> sessions(int gameID) {
+        Set<Session> sessions = rooms.get(gameID);
+        return sessions == null ? Collections.emptySet() : Collections.unmodifiableSet(sessions);
+    }
+
+    int roomCount() {
+        return rooms.size();
+    }
+}
@@ -0,0 +1,167 @@
+package server;
+
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Bounded queue of messages waiting to go out on one websocket session. Messages are sent
+ * asynchronously, one frame in flight at a time and in the order they were queued, so the
+ * thread that queues a message never waits on the client's network.
+ * <br/>
+ * When a client falls far enough behind to fill the queue, the {@link SlowConsumerPolicy}
+ * decides whether to shed superseded board updates or to disconnect it.
+ */
+class OutboundQueue {
+
+    enum SlowConsumerPolicy {
+        /**
+         * Drop queued LOAD_GAME frames that a newer LOAD_GAME supersedes, and disconnect only
+         * if the queue is still full after that.
+         */
+        DROP_STALE_THEN_DISCONNECT,
+        /**
+         * Disconnect as soon as the queue is full.
+         */
+        DISCONNECT
+    }
+
+    private record Frame(String text, boolean loadGame) {
+    }
+
+    private final Session session;
+    private final int capacity;
+    private final SlowConsumerPolicy policy;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final WriteCallback callback = new WriteCallback() {
+        @Override
+        public void writeSuccess() {
+            sent();
+        }
+
+        @Override
+        public void writeFailed(Throwable x) {
+            disconnect();
+        }
+    };
+    private boolean sending;
+    private boolean closed;
+    // Set while a thread is in drain(), so a send that completes synchronously inside it
+    // lets the loop continue instead of recursing.
+    private Thread drainer;
+    private long dropped;
+
+    OutboundQueue(Session session, int capacity, SlowConsumerPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Outbound queue must hold at least one message");
+        }
+        this.session = session;
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /**
+     * Queues a message and starts sending it if nothing else is in flight.
+     *
+     * @param loadGame true for LOAD_GAME messages, which a later LOAD_GAME makes stale
+     */
+    void send(String text, boolean loadGame) {
+        boolean overflow;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            overflow = frames.size() >= capacity && !makeRoom(loadGame);
+            if (!overflow) {
+                frames.addLast(new Frame(text, loadGame));
+            }
+        }
+        if (overflow) {
+            disconnect();
+        } else {
+            drain();
+        }
+    }
+
+    synchronized long droppedFrames() {
+        return dropped;
+    }
+
+    synchronized int pending() {
+        return frames.size();
+    }
+
+    /**
+     * Applies the slow-consumer policy to a full queue. Returns false if the client should be
+     * disconnected instead.
+     */
+    private boolean makeRoom(boolean incomingLoadGame) {
+        if (policy == SlowConsumerPolicy.DISCONNECT) {
+            return false;
+        }
+        // Walk newest to oldest; every LOAD_GAME older than the newest one is stale.
+        boolean newerLoadGame = incomingLoadGame;
+        Iterator<Frame> iterator = frames.descendingIterator();
+        while (iterator.hasNext()) {
+            Frame frame = iterator.next();
+            if (!frame.loadGame()) {
+                continue;
+            }
+            if (newerLoadGame) {
+                iterator.remove();
+                dropped++;
+            }
+            newerLoadGame = true;
+        }
+        return frames.size() < capacity;
+    }
+
+    private void drain() {
+        while (true) {
+            Frame frame;
+            synchronized (this) {
+                if (sending || closed || frames.isEmpty() || (drainer != null && drainer != Thread.currentThread())) {
+                    if (drainer == Thread.currentThread()) {
+                        drainer = null;
+                    }
+                    return;
+                }
+                frame = frames.pollFirst();
+                sending = true;
+                drainer = Thread.currentThread();
+            }
+            try {
+                session.getRemote().sendString(frame.text(), callback);
+            } catch (RuntimeException e) {
+                disconnect();
+                return;
+            }
+        }
+    }
+
+    private void sent() {
+        synchronized (this) {
+            sending = false;
+            if (drainer != null) {
+                return;  // The draining thread picks up the next frame
+            }
+        }
+        drain();
+    }
+
+    private void disconnect() {
+        synchronized (this) {
+            closed = true;
+            frames.clear();
+            drainer = null;
+        }
+        try {
+            session.disconnect();
+        } catch (Exception ignored) {
+            // The connection is already gone.
+        }
+    }
+}
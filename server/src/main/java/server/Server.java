@@ -1,29 +1,91 @@
 package server;
 
 import spark.*;
+import spark.embeddedserver.EmbeddedServers;
+import spark.embeddedserver.jetty.EmbeddedJettyFactory;
 import handler.*;
 import dataaccess.*;
+import service.PasswordHasher;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class Server {
 
+    private WebSocketServerEndpoint webSocketEndpoint;
+    private PasswordHasher passwordHasher;
+    private WriteBehindGameDAO gameWriter;
+    private ScheduledExecutorService statsReporter;
+
+    // How often the hashing, connection pool and write-behind metrics are logged.
+    private static final long STATS_INTERVAL_SECONDS = 60;
+
     public int run(int desiredPort) {
-        try {
-            DatabaseManager.createDatabase();
-        } catch (DataAccessException e) {
-            throw new RuntimeException("Database initialization failed: " + e.getMessage());
+        return run(desiredPort, false);
+    }
+
+    /**
+     * Starts the server. With {@code virtualThreads}, every HTTP request and websocket frame
+     * is handled on its own virtual thread and game commands run on virtual threads too, so
+     * requests blocked on the database or password hashing do not tie up platform threads.
+     */
+    public int run(int desiredPort, boolean virtualThreads) {
+        return run(desiredPort, virtualThreads, false);
+    }
+
+    /**
+     * Starts the server. With {@code inMemory}, users, tokens and games live only in this
+     * process and nothing touches MySQL, which suits load tests and local play; everything is
+     * lost when the server stops.
+     */
+    public int run(int desiredPort, boolean virtualThreads, boolean inMemory) {
+        UserDAO userDAO;
+        AuthDAO authDAO;
+        GameDAO gameDAO;
+        if (inMemory) {
+            userDAO = new MemoryUserDAO();
+            authDAO = new MemoryAuthDAO();
+            gameDAO = new MemoryGameDAO();
+        } else {
+            try {
+                DatabaseManager.createDatabase();
+            } catch (DataAccessException e) {
+                throw new RuntimeException("Database initialization failed: " + e.getMessage());
+            }
+            userDAO = new SQLUserDAO();
+            authDAO = new CachingAuthDAO(new SQLAuthDAO());
+            // Moves are acknowledged from memory and written to MySQL in coalesced batches.
+            gameWriter = new WriteBehindGameDAO(new SQLGameDAO());
+            gameDAO = new CachingGameDAO(gameWriter);
+        }
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        EmbeddedJettyFactory jetty = new EmbeddedJettyFactory();
+        if (virtualThreads) {
+            jetty.withThreadPool(new VirtualThreadPool());
         }
+        EmbeddedServers.add(EmbeddedServers.Identifiers.JETTY, jetty);
 
         Spark.port(desiredPort);
         Spark.staticFiles.location("web");
-        Spark.webSocket("/ws", WebSocketServerEndpoint.class);
-
-        UserDAO userDAO = new SQLUserDAO();
-        AuthDAO authDAO = new SQLAuthDAO();
-        GameDAO gameDAO = new SQLGameDAO();
+        // Virtual shard threads are cheap, so spread games more thinly across them.
+        webSocketEndpoint = new WebSocketServerEndpoint(authDAO, gameDAO,
+                virtualThreads ? processors * 16 : processors, virtualThreads);
+        Spark.webSocket("/ws", webSocketEndpoint);
 
         ClearHandler clearHandler = new ClearHandler(userDAO, authDAO, gameDAO);
-        RegisterHandler registerHandler = new RegisterHandler(userDAO, authDAO);
-        LoginHandler loginHandler = new LoginHandler(userDAO, authDAO);
+        // BCrypt gets its own CPU-sized pool so a login storm cannot take every request thread.
+        passwordHasher = new PasswordHasher(processors, PasswordHasher.DEFAULT_QUEUE_LIMIT);
+        statsReporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        statsReporter.scheduleAtFixedRate(this::logStats, STATS_INTERVAL_SECONDS, STATS_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+        RegisterHandler registerHandler = new RegisterHandler(userDAO, authDAO, passwordHasher);
+        LoginHandler loginHandler = new LoginHandler(userDAO, authDAO, passwordHasher);
         LogoutHandler logoutHandler = new LogoutHandler(authDAO);
         ListGamesHandler listGamesHandler = new ListGamesHandler(authDAO, gameDAO);
         CreateGameHandler createGameHandler = new CreateGameHandler(authDAO, gameDAO);
@@ -43,9 +105,43 @@ public class Server {
         return Spark.port();
     }
 
+    /**
+     * Logs the password hashing, connection pool and write-behind metrics. The pool and the
+     * write-behind queue only exist when games are stored in MySQL.
+     */
+    private void logStats() {
+        try {
+            System.out.println("[INFO] Password hashing: " + passwordHasher.stats());
+            if (gameWriter != null) {
+                System.out.println("[INFO] Database pool: " + DatabaseManager.poolStats());
+                System.out.println("[INFO] Game writes: " + gameWriter.stats());
+            }
+        } catch (RuntimeException e) {
+            // A failed report must not cancel the ones after it.
+            System.err.println("[ERROR] Failed to log stats: " + e.getMessage());
+        }
+    }
+
     public void stop() {
         Spark.stop();
         Spark.awaitStop();
+        if (webSocketEndpoint != null) {
+            webSocketEndpoint.shutdown();
+        }
+        if (gameWriter != null) {
+            try {
+                gameWriter.close();  // After the game threads, so their last saves are written
+            } catch (DataAccessException e) {
+                System.err.println("[ERROR] " + e.getMessage());
+            }
+        }
+        if (statsReporter != null) {
+            statsReporter.shutdownNow();
+            logStats();  // Final totals, after the last game writes
+        }
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
         System.out.println("Server stopped.");
     }
 }
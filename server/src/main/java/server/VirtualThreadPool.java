@@ -0,0 +1,79 @@
+package server;
+
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.eclipse.jetty.util.thread.TryExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Jetty thread pool that starts a virtual thread for every task. Handlers that block on
+ * JDBC or BCrypt park their virtual thread instead of holding one of a fixed number of
+ * platform threads, so the number of requests in flight is not capped by a pool size.
+ * <br/>
+ * Jetty's selector and acceptor loops run here too; the JDK lends extra carrier threads
+ * while they wait in select and accept.
+ */
+class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool, TryExecutor {
+
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile ExecutorService executor;
+
+    @Override
+    protected void doStart() throws Exception {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jetty-virtual-", 0).factory());
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            running.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public boolean tryExecute(Runnable task) {
+        // A new virtual thread is always available.
+        execute(task);
+        return true;
+    }
+
+    @Override
+    public void join() throws InterruptedException {
+        ExecutorService current = executor;
+        if (current != null) {
+            current.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public int getThreads() {
+        return running.get();
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return 0;
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return false;
+    }
+}
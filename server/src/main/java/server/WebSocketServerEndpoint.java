@@ -20,10 +20,55 @@ import java.util.concurrent.ConcurrentHashMap;
 public class WebSocketServerEndpoint {
 
     private static final Map<Session, SessionInfo> ACTIVE_SESSIONS = new ConcurrentHashMap<>();
+    private static final GameRooms ROOMS = new GameRooms();
+    private static final Map<Session, OutboundQueue> OUTBOUND = new ConcurrentHashMap<>();
+    private static final int DEFAULT_OUTBOUND_CAPACITY = 64;
     private final Gson gson = new Gson();
 
-    private final AuthDAO authDAO = new SQLAuthDAO();
-    private final GameDAO gameDAO = new SQLGameDAO();
+    private final AuthDAO authDAO;
+    private final GameActors games;
+    private final int outboundCapacity;
+    private final OutboundQueue.SlowConsumerPolicy slowConsumerPolicy;
+
+    public WebSocketServerEndpoint(AuthDAO authDAO, GameDAO gameDAO) {
+        this(authDAO, gameDAO, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param gameThreads threads that game commands are sharded across; 0 runs each command
+     *                    on the thread that received it
+     */
+    public WebSocketServerEndpoint(AuthDAO authDAO, GameDAO gameDAO, int gameThreads) {
+        this(authDAO, gameDAO, gameThreads, false);
+    }
+
+    /**
+     * @param virtualThreads run game commands on virtual threads instead of platform threads
+     */
+    public WebSocketServerEndpoint(AuthDAO authDAO, GameDAO gameDAO, int gameThreads, boolean virtualThreads) {
+        this(authDAO, gameDAO, gameThreads, virtualThreads, DEFAULT_OUTBOUND_CAPACITY,
+                OutboundQueue.SlowConsumerPolicy.DROP_STALE_THEN_DISCONNECT);
+    }
+
+    /**
+     * @param outboundCapacity   messages that may wait to be sent to one client before the
+     *                           slow-consumer policy applies
+     * @param slowConsumerPolicy what to do when a client's outbound queue is full
+     */
+    WebSocketServerEndpoint(AuthDAO authDAO, GameDAO gameDAO, int gameThreads, boolean virtualThreads,
+                            int outboundCapacity, OutboundQueue.SlowConsumerPolicy slowConsumerPolicy) {
+        this.authDAO = authDAO;
+        this.games = new GameActors(gameDAO, gameThreads, virtualThreads);
+        this.outboundCapacity = outboundCapacity;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    /**
+     * Finishes queued game commands and waits for their saves to reach the DAO.
+     */
+    public void shutdown() {
+        games.shutdown();
+    }
 
     private static class SessionInfo {
         private final String authToken;
@@ -46,6 +91,8 @@ public class WebSocketServerEndpoint {
     @OnWebSocketConnect
     public void onOpen(Session session) {
         ACTIVE_SESSIONS.put(session, new SessionInfo("", -1));
+        // Only created here, so a send racing onClose cannot bring back a queue for a dead session.
+        OUTBOUND.put(session, new OutboundQueue(session, outboundCapacity, slowConsumerPolicy));
         logInfo("WebSocket connection established", session);
     }
 
@@ -60,12 +107,16 @@ public class WebSocketServerEndpoint {
                 return;
             }
 
-            switch (command.getCommandType()) {
-                case CONNECT -> handleConnect(session, command);
-                case MAKE_MOVE -> handleMakeMove(session, command);
-                case RESIGN -> handleResign(session);
-                case LEAVE -> handleLeave(session);
-                default -> sendErrorMessage(session, "Unknown command type: " + command.getCommandType());
+            // Commands for the same game run one at a time on that game's thread.
+            Integer gameID = command.getGameID();
+            if (gameID == null) {
+                SessionInfo sessionInfo = ACTIVE_SESSIONS.get(session);
+                gameID = sessionInfo != null ? sessionInfo.getGameID() : null;
+            }
+            if (gameID == null) {
+                dispatch(session, command);
+            } else {
+                games.submit(gameID, () -> dispatch(session, command));
             }
         } catch (Exception e) {
             logError("Error processing WebSocket message", e, session);
@@ -73,9 +124,23 @@ public class WebSocketServerEndpoint {
         }
     }
 
+    private void dispatch(Session session, UserGameCommand command) {
+        switch (command.getCommandType()) {
+            case CONNECT -> handleConnect(session, command);
+            case MAKE_MOVE -> handleMakeMove(session, command);
+            case RESIGN -> handleResign(session);
+            case LEAVE -> handleLeave(session);
+            default -> sendErrorMessage(session, "Unknown command type: " + command.getCommandType());
+        }
+    }
+
     @OnWebSocketClose
     public void onClose(Session session, int statusCode, String reason) {
-        ACTIVE_SESSIONS.remove(session);
+        SessionInfo sessionInfo = untrack(session);
+        OUTBOUND.remove(session);
+        if (sessionInfo != null && sessionInfo.getGameID() >= 0) {
+            releaseIfEmpty(sessionInfo.getGameID());
+        }
         logInfo("WebSocket connection closed. Reason: " + reason, session);
     }
 
@@ -83,7 +148,11 @@ public class WebSocketServerEndpoint {
     public void onError(Session session, Throwable throwable) {
         logError("WebSocket error occurred", throwable, session);
         if (session != null) {
-            ACTIVE_SESSIONS.remove(session);
+            SessionInfo sessionInfo = untrack(session);
+            OUTBOUND.remove(session);
+            if (sessionInfo != null && sessionInfo.getGameID() >= 0) {
+                releaseIfEmpty(sessionInfo.getGameID());
+            }
         }
     }
 
@@ -97,13 +166,24 @@ public class WebSocketServerEndpoint {
                 return;
             }
 
-            GameData gameData = gameDAO.getGame(command.getGameID());
+            // A game nobody is watching may have been replaced in the database, so only keep
+            // the in-memory state while others are connected.
+            boolean roomOpen = !ROOMS.sessions(command.getGameID()).isEmpty();
+            GameData gameData = games.refresh(command.getGameID(), roomOpen);
             if (gameData == null) {
                 sendErrorMessage(session, "Error: Invalid GameID provided.");
                 return;
             }
 
-            ACTIVE_SESSIONS.put(session, new SessionInfo(authData.authToken(), gameData.gameID()));
+            SessionInfo previous = ACTIVE_SESSIONS.put(session, new SessionInfo(authData.authToken(), gameData.gameID()));
+            if (previous != null && previous.getGameID() != gameData.gameID()) {
+                ROOMS.leave(previous.getGameID(), session);
+            }
+            ROOMS.join(gameData.gameID(), session);
+            if (!session.isOpen()) {
+                untrack(session);  // Closed while connecting; onClose may already have run
+                return;
+            }
 
             sendLoadGame(session, gameData);
 
@@ -144,7 +224,7 @@ public class WebSocketServerEndpoint {
                 return;
             }
 
-            GameData gameData = gameDAO.getGame(command.getGameID());
+            GameData gameData = games.game(command.getGameID());
             if (gameData == null) {
                 sendErrorMessage(session, "Error: Game not found.");
                 return;
@@ -171,24 +251,35 @@ public class WebSocketServerEndpoint {
                 sendErrorMessage(session, "Error: " + e.getMessage());
                 return;
             }
+            // Recorded before the save so the stored state and the game list see the end
+            boolean checkmate = game.isInCheckmate(game.getTeamTurn());
+            boolean stalemate = !checkmate && game.isInStalemate(game.getTeamTurn());
+            if (checkmate || stalemate) {
+                game.setGameOver(true);
+            }
 
-            gameDAO.updateGame(new GameData(
+            GameData updated = new GameData(
                     gameData.gameID(),
                     gameData.whiteUsername(),
                     gameData.blackUsername(),
                     gameData.gameName(),
                     game
-            ));
-
-            gameDAO.updateGameState(gameData.gameID(), game);
+            );
+            boolean saved = gameData.game() == null
+                    ? games.saveState(gameData.gameID(), game)  // Nothing stored to append to yet
+                    : games.saveMove(gameData.gameID(), move, game);
+            if (!saved) {
+                sendErrorMessage(session, "Error: The move could not be saved. Please try again.");
+                return;
+            }
 
-            broadcastLoadGame(command.getGameID());
+            broadcastLoadGame(updated);
 
             broadcastNotification("A move was made: " + move.toString(), gameData.gameID(), session);
 
-            if (game.isInCheckmate(game.getTeamTurn())) {
+            if (checkmate) {
                 broadcastNotification("Game over: Checkmate! " + game.getTeamTurn() + " loses.", gameData.gameID(), null);
-            } else if (game.isInStalemate(game.getTeamTurn())) {
+            } else if (stalemate) {
                 broadcastNotification("Game over: Stalemate! It's a draw.", gameData.gameID(), null);
             }
 
@@ -214,7 +305,7 @@ public class WebSocketServerEndpoint {
                 return;
             }
 
-            GameData gameData = gameDAO.getGame(sessionInfo.getGameID());
+            GameData gameData = games.game(sessionInfo.getGameID());
             if (gameData == null) {
                 sendErrorMessage(session, "Game not found.");
                 return;
@@ -250,18 +341,14 @@ public class WebSocketServerEndpoint {
                     : gameData.whiteUsername();
 
             game.setGameOver(true);
+            if (!games.saveState(gameData.gameID(), game)) {
+                sendErrorMessage(session, "Error: The resignation could not be saved. Please try again.");
+                return;
+            }
 
             String resignationMessage = losingPlayer + " has resigned. " + winningPlayer + " wins!";
             broadcastNotification(resignationMessage, gameData.gameID(), null);
 
-            gameDAO.updateGame(new GameData(
-                    gameData.gameID(),
-                    gameData.whiteUsername(),
-                    gameData.blackUsername(),
-                    gameData.gameName(),
-                    game
-            ));
-
             logInfo("Player resigned: " + resigningUsername, session);
 
         } catch (Exception e) {
@@ -279,42 +366,32 @@ public class WebSocketServerEndpoint {
                 sendErrorMessage(session, "Unauthorized action. Please connect first.");
                 return;
             }
-            SessionInfo sessionInfo = ACTIVE_SESSIONS.remove(session);
+            SessionInfo sessionInfo = untrack(session);
             if (sessionInfo == null) {
                 sendErrorMessage(session, "Session is not associated with any game.");
                 return;
             }
-            GameData gameData = gameDAO.getGame(sessionInfo.getGameID());
+            GameData gameData = games.refresh(sessionInfo.getGameID(), true);
             if (gameData == null) {
                 sendErrorMessage(session, "Game not found.");
                 return;
             }
             AuthData leavingPlayerAuth = authDAO.getAuth(sessionInfo.getAuthToken());
             String leavingUsername = leavingPlayerAuth != null ? leavingPlayerAuth.username() : null;
-            boolean isPlayer = false;
+            ChessGame.TeamColor seat = null;
             // Check if the leaving user is a player
             if (leavingUsername != null && leavingUsername.equals(gameData.whiteUsername())) {
-                gameData = new GameData(
-                        gameData.gameID(),
-                        null,  // Remove white player
-                        gameData.blackUsername(),
-                        gameData.gameName(),
-                        gameData.game()
-                );
-                isPlayer = true;
+                seat = ChessGame.TeamColor.WHITE;
             } else if (leavingUsername != null && leavingUsername.equals(gameData.blackUsername())) {
-                gameData = new GameData(
-                        gameData.gameID(),
-                        gameData.whiteUsername(),
-                        null,  // Remove black player
-                        gameData.gameName(),
-                        gameData.game()
-                );
-                isPlayer = true;
-            }
-            // Update the game state if a player has left
+                seat = ChessGame.TeamColor.BLACK;
+            }
+            boolean isPlayer = seat != null;
+            // Only the leaver's own seat is cleared, so a seat claimed meanwhile is kept
             if (isPlayer) {
-                gameDAO.updateGame(gameData);
+                GameData released = games.releaseSeat(gameData.gameID(), seat, leavingUsername);
+                if (released != null) {
+                    gameData = released;
+                }
             }
             // Prepare notification message
             String notificationMessage;
@@ -333,6 +410,8 @@ public class WebSocketServerEndpoint {
                 logInfo("Observer left: " + sessionInfo.getAuthToken(), session);
             }
 
+            releaseIfEmpty(gameData.gameID());
+
             // Close the session
             session.close();
 
@@ -343,6 +422,29 @@ public class WebSocketServerEndpoint {
     }
 
 
+    /**
+     * Forgets the session and removes it from its game room.
+     */
+    private SessionInfo untrack(Session session) {
+        SessionInfo sessionInfo = ACTIVE_SESSIONS.remove(session);
+        if (sessionInfo != null) {
+            ROOMS.leave(sessionInfo.getGameID(), session);
+        }
+        return sessionInfo;
+    }
+
+    /**
+     * Drops the in-memory copy of a game once its last session is gone. Runs on the game's
+     * thread, so it cannot race a command that is still using the game.
+     */
+    private void releaseIfEmpty(int gameID) {
+        games.submit(gameID, () -> {
+            if (ROOMS.sessions(gameID).isEmpty()) {
+                games.release(gameID);
+            }
+        });
+    }
+
     private boolean isAuthenticated(Session session) {
         SessionInfo sessionInfo = ACTIVE_SESSIONS.get(session);
         return sessionInfo != null && sessionInfo.getAuthToken() != null && !sessionInfo.getAuthToken().isEmpty();
@@ -351,31 +453,30 @@ public class WebSocketServerEndpoint {
 
     private void sendLoadGame(Session session, GameData gameData) {
         ServerMessage loadGameMessage = new ServerMessage(ServerMessage.ServerMessageType.LOAD_GAME, gameData);
-        sendMessage(session, gson.toJson(loadGameMessage));
+        queueMessage(session, gson.toJson(loadGameMessage), true);
     }
 
     private void broadcastNotification(String message, int gameID, Session excludeSession) {
         ServerMessage notification = new ServerMessage(ServerMessage.ServerMessageType.NOTIFICATION, message);
         String notificationJson = gson.toJson(notification);
 
-        ACTIVE_SESSIONS.forEach((session, sessionInfo) -> {
-            if (sessionInfo.getGameID() == gameID && !session.equals(excludeSession)) {
+        for (Session session : ROOMS.sessions(gameID)) {
+            if (!session.equals(excludeSession)) {
                 sendMessage(session, notificationJson);
             }
-        });
+        }
     }
 
-    private void broadcastLoadGame(int gameID) throws DataAccessException {
-        GameData gameData = gameDAO.getGame(gameID);
-        ACTIVE_SESSIONS.forEach((session, sessionInfo) -> {
-            if (sessionInfo.getGameID() == gameID) {
-                try {
-                    sendLoadGame(session, gameData);
-                } catch (Exception e) {
-                    logError("Error broadcasting load game", e, session);
-                }
-            }
-        });
+    /**
+     * Sends the game to every session in its room. The message is encoded once and the same
+     * JSON string goes to each recipient.
+     */
+    private void broadcastLoadGame(GameData gameData) {
+        ServerMessage loadGameMessage = new ServerMessage(ServerMessage.ServerMessageType.LOAD_GAME, gameData);
+        String loadGameJson = gson.toJson(loadGameMessage);
+        for (Session session : ROOMS.sessions(gameData.gameID())) {
+            queueMessage(session, loadGameJson, true);
+        }
     }
 
 
@@ -391,9 +492,18 @@ public class WebSocketServerEndpoint {
 
 
     private void sendMessage(Session session, String message) {
+        queueMessage(session, message, false);
+    }
+
+    /**
+     * Hands the message to the session's outbound queue, which sends it asynchronously so a
+     * slow client never holds up the thread handling a move.
+     */
+    private void queueMessage(Session session, String message, boolean loadGame) {
         try {
-            if (session.isOpen()) {
-                session.getRemote().sendString(message);
+            OutboundQueue queue = OUTBOUND.get(session);
+            if (queue != null && session.isOpen()) {
+                queue.send(message, loadGame);
             }
         } catch (Exception e) {
             logError("Failed to send message", e, session);
@@ -1,9 +1,9 @@
 package service;
 
+import chess.ChessGame;
 import dataaccess.AuthDAO;
 import dataaccess.GameDAO;
 import model.AuthData;
-import model.GameData;
 
 public class JoinGameService {
     private final AuthDAO authDAO;
@@ -19,20 +19,18 @@ public class JoinGameService {
         if (authData == null) {
             throw new IllegalArgumentException("Unauthorized");
         }
-        GameData game = gameDAO.getGame(gameID);
-        if (game == null) {
-            throw new Exception("Game not found");
-        }
-        GameData updatedGame;
-        if (playerColor.equals("WHITE") && game.whiteUsername() == null) {
-            updatedGame = new GameData(game.gameID(), authData.username(), game.blackUsername(), game.gameName(), game.game());
-        }
-        else if (playerColor.equals("BLACK") && game.blackUsername() == null) {
-            updatedGame = new GameData(game.gameID(), game.whiteUsername(), authData.username(), game.gameName(), game.game());
-        }
-        else {
+        ChessGame.TeamColor color = switch (playerColor) {
+            case "WHITE" -> ChessGame.TeamColor.WHITE;
+            case "BLACK" -> ChessGame.TeamColor.BLACK;
+            default -> null;
+        };
+        // One conditional update, so two players racing for a seat cannot both get it.
+        // The game is only read to tell the caller why a claim failed.
+        if (color == null || !gameDAO.claimSeat(gameID, color, authData.username())) {
+            if (gameDAO.getGame(gameID) == null) {
+                throw new Exception("Game not found");
+            }
             throw new IllegalArgumentException("Color already taken: This color is already assigned to another player.");
         }
-        gameDAO.updateGame(updatedGame);
     }
 }
@@ -4,9 +4,8 @@ import dataaccess.AuthDAO;
 import dataaccess.DataAccessException;
 import dataaccess.GameDAO;
 import model.AuthData;
-import model.GameData;
-import java.util.ArrayList;
-import java.util.List;
+import model.GamePage;
+import model.GameQuery;
 
 public class ListGamesService {
     private final AuthDAO authDAO;
@@ -17,11 +16,11 @@ public class ListGamesService {
         this.gameDAO = gameDAO;
     }
 
-    public List<GameData> listAllGames(String authToken) throws DataAccessException {
+    public GamePage listGames(String authToken, GameQuery query) throws DataAccessException {
         AuthData authData = authDAO.getAuth(authToken);
         if (authData == null) {
             throw new IllegalArgumentException("Unauthorized");
         }
-        return new ArrayList<>(gameDAO.getAllGames().values());
+        return gameDAO.listGames(query);
     }
 }
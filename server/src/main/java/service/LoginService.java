@@ -5,16 +5,21 @@ import dataaccess.DataAccessException;
 import dataaccess.UserDAO;
 import model.AuthData;
 import model.UserData;
-import org.mindrot.jbcrypt.BCrypt;
 
 public class LoginService {
 
     private final UserDAO userDAO;
     private final AuthDAO authDAO;
+    private final PasswordHasher passwordHasher;
 
     public LoginService(UserDAO userDAO, AuthDAO authDAO) {
+        this(userDAO, authDAO, PasswordHasher.defaultHasher());
+    }
+
+    public LoginService(UserDAO userDAO, AuthDAO authDAO, PasswordHasher passwordHasher) {
         this.userDAO = userDAO;
         this.authDAO = authDAO;
+        this.passwordHasher = passwordHasher;
     }
 
     public AuthData login(String username, String password) throws DataAccessException {
@@ -22,7 +27,7 @@ public class LoginService {
         if (user == null) {
             throw new IllegalArgumentException("User not found");
         }
-        if (!BCrypt.checkpw(password, user.password())) {
+        if (!passwordHasher.check(password, user.password())) {
             throw new IllegalArgumentException("Incorrect password");
         }
         String authToken = generateAuthToken();
@@ -0,0 +1,121 @@
+package service;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt on a dedicated pool of CPU threads, one per core by default, so a burst of
+ * logins or registrations cannot occupy every request thread. At most {@code queueLimit}
+ * hashes wait for a thread; beyond that callers get a {@link ServiceUnavailableException}
+ * straight away instead of queueing behind work they would time out on anyway.
+ */
+public class PasswordHasher {
+
+    /**
+     * Point-in-time hashing metrics. Wait and hash times are averaged over completed hashes.
+     */
+    public record Stats(long completed, long rejected, int queued, int active,
+                        double averageQueueWaitMillis, double maxQueueWaitMillis,
+                        double averageHashMillis) {
+    }
+
+    public static final int DEFAULT_QUEUE_LIMIT = 256;
+
+    private static final class DefaultHolder {
+        private static final PasswordHasher INSTANCE =
+                new PasswordHasher(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_LIMIT);
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder hashNanos = new LongAdder();
+
+    public PasswordHasher(int threads, int queueLimit) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueLimit), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + count.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Shared hasher for services constructed without one.
+     */
+    public static PasswordHasher defaultHasher() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public String hash(String password) {
+        return run(() -> BCrypt.hashpw(password, BCrypt.gensalt()));
+    }
+
+    public boolean check(String password, String hashed) {
+        return run(() -> BCrypt.checkpw(password, hashed));
+    }
+
+    public Stats stats() {
+        long done = completed.sum();
+        return new Stats(done, rejected.sum(), executor.getQueue().size(), executor.getActiveCount(),
+                done == 0 ? 0 : queueWaitNanos.sum() / 1e6 / done,
+                maxQueueWaitNanos.get() / 1e6,
+                done == 0 ? 0 : hashNanos.sum() / 1e6 / done);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the work on the hashing pool and waits for it.
+     *
+     * @throws ServiceUnavailableException if the queue is full
+     */
+    <T> T run(Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - queuedAt;
+                queueWaitNanos.add(waited);
+                maxQueueWaitNanos.accumulate(waited);
+                try {
+                    return work.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Server is busy, try again shortly");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while hashing password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
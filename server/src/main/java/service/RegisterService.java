@@ -5,16 +5,21 @@ import dataaccess.DataAccessException;
 import dataaccess.UserDAO;
 import model.AuthData;
 import model.UserData;
-import org.mindrot.jbcrypt.BCrypt;
 
 public class RegisterService {
 
     private final UserDAO userDAO;
     private final AuthDAO authDAO;
+    private final PasswordHasher passwordHasher;
 
     public RegisterService(UserDAO userDAO, AuthDAO authDAO) {
+        this(userDAO, authDAO, PasswordHasher.defaultHasher());
+    }
+
+    public RegisterService(UserDAO userDAO, AuthDAO authDAO, PasswordHasher passwordHasher) {
         this.userDAO = userDAO;
         this.authDAO = authDAO;
+        this.passwordHasher = passwordHasher;
     }
 
     public AuthData register(UserData newUser) throws DataAccessException {
@@ -24,7 +29,7 @@ public class RegisterService {
             throw new IllegalArgumentException("All fields are required.");
         }
 
-        String hashedPassword = BCrypt.hashpw(newUser.password(), BCrypt.gensalt());
+        String hashedPassword = passwordHasher.hash(newUser.password());
         UserData hashedUser = new UserData(newUser.username(), hashedPassword, newUser.email());
 
         try {
@@ -0,0 +1,11 @@
+package service;
+
+/**
+ * Thrown when the server is too busy to take on a request right now. Handlers answer with
+ * 503 so clients back off and retry instead of piling on.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,114 @@
+package dataaccess;
+
+import model.AuthData;
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingAuthDAOTest {
+
+    private CountingAuthDAO backing;
+    private long now;
+    private CachingAuthDAO authDAO;
+
+    @BeforeEach
+    public void setup() {
+        backing = new CountingAuthDAO();
+        now = 0;
+        authDAO = new CachingAuthDAO(backing, 2, 1000, 100, () -> now);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Tokens Are Served From Memory Until They Expire")
+    public void testTokensCached() throws DataAccessException {
+        backing.insertAuth(new AuthData("token", "user"));
+        assertEquals("user", authDAO.getAuth("token").username());
+        assertEquals("user", authDAO.getAuth("token").username());
+        assertEquals(1, backing.reads, "Only the first lookup should reach the backing store");
+
+        now += TimeUnit.MILLISECONDS.toNanos(1000);
+        assertEquals("user", authDAO.getAuth("token").username());
+        assertEquals(2, backing.reads, "An expired token should be looked up again");
+    }
+
+    @Test
+    @DisplayName("Positive Test: Inserted Tokens Need No Lookup")
+    public void testInsertCaches() throws DataAccessException {
+        authDAO.insertAuth(new AuthData("token", "user"));
+        assertEquals("user", authDAO.getAuth("token").username());
+        assertEquals(0, backing.reads);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Unknown Tokens Are Cached Briefly")
+    public void testNegativeCaching() throws DataAccessException {
+        assertNull(authDAO.getAuth("missing"));
+        assertNull(authDAO.getAuth("missing"));
+        assertEquals(1, backing.reads);
+
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        assertNull(authDAO.getAuth("missing"));
+        assertEquals(2, backing.reads);
+
+        authDAO.insertAuth(new AuthData("missing", "user"));
+        assertEquals("user", authDAO.getAuth("missing").username(), "Inserting should replace a cached miss");
+    }
+
+    @Test
+    @DisplayName("Negative Test: Deleted And Cleared Tokens Are Rejected Immediately")
+    public void testInvalidation() throws DataAccessException {
+        authDAO.insertAuth(new AuthData("first", "user"));
+        authDAO.insertAuth(new AuthData("second", "user"));
+        authDAO.deleteAuth("first");
+        assertNull(authDAO.getAuth("first"));
+
+        authDAO.clearAuths();
+        assertEquals(0, authDAO.size());
+        assertNull(authDAO.getAuth("second"));
+    }
+
+    @Test
+    @DisplayName("Positive Test: Least Recently Used Tokens Are Evicted")
+    public void testEviction() throws DataAccessException {
+        for (String token : new String[]{"a", "b", "c"}) {
+            backing.insertAuth(new AuthData(token, "user"));
+        }
+        authDAO.getAuth("a");
+        authDAO.getAuth("b");
+        authDAO.getAuth("a");
+        authDAO.getAuth("c");  // Evicts b
+        assertEquals(2, authDAO.size());
+        authDAO.getAuth("b");
+        assertEquals(4, backing.reads);
+    }
+
+    private static class CountingAuthDAO implements AuthDAO {
+        private final Map<String, AuthData> auths = new HashMap<>();
+        private int reads;
+
+        @Override
+        public AuthData getAuth(String authToken) {
+            reads++;
+            return auths.get(authToken);
+        }
+
+        @Override
+        public void insertAuth(AuthData authData) {
+            auths.put(authData.authToken(), authData);
+        }
+
+        @Override
+        public void deleteAuth(String authToken) {
+            auths.remove(authToken);
+        }
+
+        @Override
+        public void clearAuths() {
+            auths.clear();
+        }
+    }
+}
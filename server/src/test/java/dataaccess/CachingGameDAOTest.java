@@ -0,0 +1,179 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+import model.GameSummary;
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingGameDAOTest {
+
+    private CountingGameDAO backing;
+    private long now;
+    private CachingGameDAO gameDAO;
+
+    @BeforeEach
+    public void setup() {
+        backing = new CountingGameDAO();
+        now = 0;
+        gameDAO = new CachingGameDAO(backing, 2, 1000, () -> now);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Reads Are Served From Memory")
+    public void testReadsServedFromMemory() throws DataAccessException {
+        backing.insertGame(new GameData(1, "white", null, "Game", new ChessGame()));
+        assertEquals("white", gameDAO.getGame(1).whiteUsername());
+        assertEquals("white", gameDAO.getGame(1).whiteUsername());
+        assertEquals(1, backing.reads, "Only the first read should reach the backing store");
+    }
+
+    @Test
+    @DisplayName("Positive Test: Writes Go Through And Refresh The Cache")
+    public void testWriteThrough() throws DataAccessException, InvalidMoveException {
+        gameDAO.insertGame(new GameData(1, "white", "black", "Game", new ChessGame()));
+        ChessGame game = gameDAO.getGame(1).game();
+        game.makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+        gameDAO.updateGameState(1, game);
+
+        assertEquals(game, backing.games.get(1).game());
+        assertEquals(game, gameDAO.getGame(1).game());
+        assertEquals(0, backing.reads);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Callers Cannot Mutate The Cached Game")
+    public void testCopiesOnRead() throws DataAccessException, InvalidMoveException {
+        gameDAO.insertGame(new GameData(1, "white", "black", "Game", new ChessGame()));
+        gameDAO.getGame(1).game().makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+        assertEquals(new ChessGame(), gameDAO.getGame(1).game());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Least Recently Used And Idle Games Are Evicted")
+    public void testEviction() throws DataAccessException {
+        for (int id = 1; id <= 3; id++) {
+            backing.insertGame(new GameData(id, null, null, "Game " + id, new ChessGame()));
+        }
+        gameDAO.getGame(1);
+        gameDAO.getGame(2);
+        gameDAO.getGame(1);
+        gameDAO.getGame(3);  // Evicts game 2
+        assertEquals(2, gameDAO.size());
+        gameDAO.getGame(2);
+        assertEquals(4, backing.reads);
+
+        now += TimeUnit.MILLISECONDS.toNanos(1001);
+        assertEquals(0, gameDAO.size());
+    }
+
+    @Test
+    @DisplayName("Negative Test: Failed Write Drops The Cached Game")
+    public void testFailedWrite() throws DataAccessException {
+        gameDAO.insertGame(new GameData(1, null, null, "Game", new ChessGame()));
+        backing.failWrites = true;
+        assertThrows(DataAccessException.class, () -> gameDAO.updateGameState(1, new ChessGame()));
+        backing.failWrites = false;
+        gameDAO.getGame(1);
+        assertEquals(1, backing.reads, "The game should be reloaded after a failed write");
+    }
+
+    @Test
+    @DisplayName("Positive Test: Claimed And Released Seats Update The Cached Game")
+    public void testClaimSeat() throws DataAccessException {
+        gameDAO.insertGame(new GameData(1, null, null, "Game", new ChessGame()));
+        assertTrue(gameDAO.claimSeat(1, ChessGame.TeamColor.WHITE, "alice"));
+        assertFalse(gameDAO.claimSeat(1, ChessGame.TeamColor.WHITE, "bob"));
+        assertEquals("alice", gameDAO.getGame(1).whiteUsername());
+        assertEquals(1, backing.reads, "Only the failed claim should drop the cached game");
+
+        assertTrue(gameDAO.releaseSeat(1, ChessGame.TeamColor.WHITE, "alice"));
+        assertNull(gameDAO.getGame(1).whiteUsername());
+        assertEquals(1, backing.reads, "A release should update the cached game in place");
+    }
+
+    private static class CountingGameDAO implements GameDAO {
+        private final Map<Integer, GameData> games = new HashMap<>();
+        private int reads;
+        private boolean failWrites;
+
+        @Override
+        public GameData getGame(int gameID) {
+            reads++;
+            return games.get(gameID);
+        }
+
+        @Override
+        public int insertGame(GameData gameData) {
+            games.put(gameData.gameID(), gameData);
+            return gameData.gameID();
+        }
+
+        @Override
+        public void updateGame(GameData gameData) throws DataAccessException {
+            if (failWrites) {
+                throw new DataAccessException("Write failed");
+            }
+            games.put(gameData.gameID(), gameData);
+        }
+
+        @Override
+        public boolean claimSeat(int gameID, ChessGame.TeamColor color, String username) {
+            GameData gameData = games.get(gameID);
+            if (gameData == null || gameData.whiteUsername() != null) {
+                return false;
+            }
+            games.put(gameID, new GameData(gameID, username, gameData.blackUsername(),
+                    gameData.gameName(), gameData.game()));
+            return true;
+        }
+
+        @Override
+        public boolean releaseSeat(int gameID, ChessGame.TeamColor color, String username) {
+            GameData gameData = games.get(gameID);
+            if (gameData == null || username == null || !username.equals(gameData.whiteUsername())) {
+                return false;
+            }
+            games.put(gameID, new GameData(gameID, null, gameData.blackUsername(),
+                    gameData.gameName(), gameData.game()));
+            return true;
+        }
+
+        @Override
+        public void updateGameState(int gameID, ChessGame updatedGame) throws DataAccessException {
+            GameData gameData = games.get(gameID);
+            updateGame(new GameData(gameID, gameData.whiteUsername(), gameData.blackUsername(),
+                    gameData.gameName(), updatedGame));
+        }
+
+        @Override
+        public void appendMove(int gameID, ChessMove move, ChessGame updatedGame) throws DataAccessException {
+            updateGameState(gameID, updatedGame);
+        }
+
+        @Override
+        public Map<Integer, GameData> getAllGames() {
+            return new HashMap<>(games);
+        }
+
+        @Override
+        public GamePage listGames(GameQuery query) {
+            return new GamePage(games.values().stream().map(GameSummary::of).filter(query::matches).toList(), null);
+        }
+
+        @Override
+        public void clearGames() {
+            games.clear();
+        }
+    }
+}
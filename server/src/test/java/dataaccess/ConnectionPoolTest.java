@@ -0,0 +1,142 @@
+package dataaccess;
+
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTest {
+
+    private final List<FakeConnection> opened = new ArrayList<>();
+    private ConnectionPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ConnectionPool newPool(int minSize, int maxSize, long idleTimeoutMillis, long acquireTimeoutMillis) {
+        pool = new ConnectionPool(() -> {
+            FakeConnection fake = new FakeConnection();
+            opened.add(fake);
+            return fake.proxy();
+        }, minSize, maxSize, idleTimeoutMillis, acquireTimeoutMillis);
+        return pool;
+    }
+
+    @Test
+    @DisplayName("Positive Test: Closed Connections Are Reused")
+    public void testReuse() throws SQLException {
+        newPool(0, 2, 60_000, 1000);
+        Connection first = pool.borrow();
+        first.close();
+        assertTrue(first.isClosed());
+        try (Connection second = pool.borrow()) {
+            assertFalse(second.isClosed());
+        }
+        assertEquals(1, opened.size(), "The physical connection should be reused");
+        assertFalse(opened.get(0).closed);
+        ConnectionPool.Stats stats = pool.stats();
+        assertEquals(2, stats.borrowed());
+        assertEquals(1, stats.created());
+        assertEquals(1, stats.idle());
+        assertEquals(0, stats.active());
+    }
+
+    @Test
+    @DisplayName("Negative Test: Borrow Times Out When Pool Is Exhausted")
+    public void testAcquireTimeout() throws SQLException {
+        newPool(0, 1, 60_000, 50);
+        try (Connection ignored = pool.borrow()) {
+            assertThrows(SQLException.class, () -> pool.borrow());
+        }
+        assertEquals(1, pool.stats().timeouts());
+        pool.borrow().close();
+    }
+
+    @Test
+    @DisplayName("Negative Test: Calls After Close Fail")
+    public void testUseAfterClose() throws SQLException {
+        newPool(0, 1, 60_000, 1000);
+        Connection connection = pool.borrow();
+        connection.close();
+        connection.close();
+        assertThrows(SQLException.class, () -> connection.setAutoCommit(false));
+        assertEquals(1, pool.stats().idle());
+    }
+
+    @Test
+    @DisplayName("Negative Test: Borrowed Connections Do Not Unwrap To The Physical One")
+    public void testUnwrap() throws SQLException {
+        newPool(0, 1, 60_000, 1000);
+        try (Connection connection = pool.borrow()) {
+            assertSame(connection, connection.unwrap(Connection.class));
+            assertTrue(connection.isWrapperFor(Connection.class));
+            assertFalse(connection.isWrapperFor(String.class));
+            assertThrows(SQLException.class, () -> connection.unwrap(String.class));
+        }
+        assertEquals(1, pool.stats().idle());
+        assertFalse(opened.get(0).closed);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Invalid Connections Are Replaced")
+    public void testValidationOnBorrow() throws Exception {
+        newPool(0, 1, 60_000, 1000);
+        pool.borrow().close();
+        opened.get(0).valid = false;
+        Thread.sleep(600);  // Past the window in which connections skip validation
+        try (Connection ignored = pool.borrow()) {
+            assertEquals(2, opened.size());
+            assertTrue(opened.get(0).closed);
+        }
+        assertEquals(1, pool.stats().validationFailures());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Idle Connections Are Evicted Down To The Minimum")
+    public void testIdleEviction() throws Exception {
+        newPool(1, 3, 0, 1000);
+        Connection a = pool.borrow();
+        Connection b = pool.borrow();
+        Connection c = pool.borrow();
+        a.close();
+        b.close();
+        c.close();
+        Thread.sleep(5);
+        pool.maintain();
+        assertEquals(1, pool.stats().total());
+        assertEquals(2, opened.stream().filter(fake -> fake.closed).count());
+    }
+
+    private static class FakeConnection {
+        private boolean closed;
+        private boolean valid = true;
+        private boolean autoCommit = true;
+
+        private Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "close" -> {
+                            closed = true;
+                            yield null;
+                        }
+                        case "isClosed" -> closed;
+                        case "isValid" -> valid && !closed;
+                        case "getAutoCommit" -> autoCommit;
+                        case "setAutoCommit" -> {
+                            autoCommit = (Boolean) args[0];
+                            yield null;
+                        }
+                        default -> null;
+                    });
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+import model.GameSummary;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryGameDAOTest {
+
+    private MemoryGameDAO gameDAO;
+
+    @BeforeEach
+    public void setup() {
+        gameDAO = new MemoryGameDAO();
+    }
+
+    @Test
+    @DisplayName("Positive Test: IDs Are Assigned In Order And Reset On Clear")
+    public void testIDs() throws DataAccessException {
+        assertEquals(1, gameDAO.insertGame(new GameData(0, null, null, "first", new ChessGame())));
+        assertEquals(7, gameDAO.insertGame(new GameData(7, null, null, "chosen", new ChessGame())));
+        assertEquals(8, gameDAO.insertGame(new GameData(0, null, null, "after", new ChessGame())));
+
+        gameDAO.clearGames();
+        assertNull(gameDAO.getGame(1));
+        assertEquals(1, gameDAO.insertGame(new GameData(0, null, null, "again", new ChessGame())));
+    }
+
+    @Test
+    @DisplayName("Negative Test: Duplicate Game ID Is Rejected")
+    public void testDuplicateID() throws DataAccessException {
+        gameDAO.insertGame(new GameData(3, null, null, "first", new ChessGame()));
+        assertThrows(DataAccessException.class,
+                () -> gameDAO.insertGame(new GameData(3, null, null, "second", new ChessGame())));
+        assertEquals("first", gameDAO.getGame(3).gameName());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Stored Games Are Isolated From Callers")
+    public void testCopies() throws DataAccessException, InvalidMoveException {
+        ChessGame game = new ChessGame();
+        int gameID = gameDAO.insertGame(new GameData(0, "white", null, "copies", game));
+        ChessMove move = new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        game.makeMove(move);
+        assertEquals(new ChessGame(), gameDAO.getGame(gameID).game());
+
+        gameDAO.appendMove(gameID, move, game);
+        GameData stored = gameDAO.getGame(gameID);
+        assertEquals(game, stored.game());
+        assertEquals(1, stored.game().getPly());
+        assertEquals("white", stored.whiteUsername());
+        stored.game().makeMove(new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null));
+        assertEquals(game, gameDAO.getGame(gameID).game());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Games Page By ID With Filters")
+    public void testListGames() throws DataAccessException {
+        for (int i = 0; i < 5; i++) {
+            String white = i % 2 == 0 ? "alice" : null;
+            gameDAO.insertGame(new GameData(0, white, null, "game" + i, new ChessGame()));
+        }
+
+        GamePage first = gameDAO.listGames(new GameQuery(0, 2, null, null));
+        assertEquals(List.of(1, 2), first.games().stream().map(GameSummary::gameID).toList());
+        assertEquals(2, first.nextCursor());
+        GamePage last = gameDAO.listGames(new GameQuery(4, 2, null, null));
+        assertEquals(List.of(5), last.games().stream().map(GameSummary::gameID).toList());
+        assertNull(last.nextCursor());
+
+        GamePage alice = gameDAO.listGames(new GameQuery(0, 3, "alice", null));
+        assertEquals(List.of(1, 3, 5), alice.games().stream().map(GameSummary::gameID).toList());
+        assertNull(alice.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Negative Test: Seats Are Only Claimed Empty And Released By Their Holder")
+    public void testSeats() throws DataAccessException {
+        int gameID = gameDAO.insertGame(new GameData(0, null, "bob", "seats", new ChessGame()));
+        assertTrue(gameDAO.claimSeat(gameID, ChessGame.TeamColor.WHITE, "alice"));
+        assertFalse(gameDAO.claimSeat(gameID, ChessGame.TeamColor.WHITE, "carol"));
+        assertFalse(gameDAO.releaseSeat(gameID, ChessGame.TeamColor.WHITE, "bob"));
+        assertTrue(gameDAO.releaseSeat(gameID, ChessGame.TeamColor.BLACK, "bob"));
+        assertFalse(gameDAO.claimSeat(gameID + 1, ChessGame.TeamColor.WHITE, "carol"));
+
+        GameData stored = gameDAO.getGame(gameID);
+        assertEquals("alice", stored.whiteUsername());
+        assertNull(stored.blackUsername());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Concurrent Inserts Get Distinct IDs")
+    public void testConcurrentInserts() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> ids = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String name = "game" + i;
+                ids.add(executor.submit(() -> gameDAO.insertGame(new GameData(0, null, null, name, null))));
+            }
+            Set<Integer> distinct = new HashSet<>();
+            for (Future<Integer> id : ids) {
+                distinct.add(id.get());
+            }
+            assertEquals(200, distinct.size());
+            assertEquals(200, gameDAO.getAllGames().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,8 +1,26 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.Fen;
+import chess.GameCodec;
+import chess.InvalidMoveException;
+import chess.Move;
+import com.google.gson.Gson;
 import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+import model.GameSummary;
 import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -78,6 +96,59 @@ public class SQLGameDAOTest {
         assertEquals("UpdatedGame", retrievedGame.gameName(), "Game name should be updated");
     }
 
+    @Test
+    @DisplayName("Positive Test: Claim Seat Only While It Is Empty")
+    public void testClaimSeat() throws DataAccessException {
+        gameDAO.insertGame(new GameData(4, null, "player2", "SeatGame", new ChessGame()));
+        assertTrue(gameDAO.claimSeat(4, ChessGame.TeamColor.WHITE, "player1"));
+        assertFalse(gameDAO.claimSeat(4, ChessGame.TeamColor.WHITE, "player3"), "White is already taken");
+        assertFalse(gameDAO.claimSeat(4, ChessGame.TeamColor.BLACK, "player3"), "Black is already taken");
+        assertFalse(gameDAO.claimSeat(5, ChessGame.TeamColor.WHITE, "player3"), "Game 5 does not exist");
+        GameData retrievedGame = gameDAO.getGame(4);
+        assertEquals("player1", retrievedGame.whiteUsername());
+        assertEquals("player2", retrievedGame.blackUsername());
+        assertEquals(new ChessGame(), retrievedGame.game(), "Claiming a seat should leave the board alone");
+    }
+
+    @Test
+    @DisplayName("Negative Test: Release Seat Only Held By The Leaving Player")
+    public void testReleaseSeat() throws DataAccessException {
+        gameDAO.insertGame(new GameData(7, "player1", "player2", "LeaveGame", new ChessGame()));
+        assertFalse(gameDAO.releaseSeat(7, ChessGame.TeamColor.WHITE, "player2"), "player2 is not white");
+        assertTrue(gameDAO.releaseSeat(7, ChessGame.TeamColor.WHITE, "player1"));
+        assertTrue(gameDAO.claimSeat(7, ChessGame.TeamColor.WHITE, "player3"));
+        assertFalse(gameDAO.releaseSeat(7, ChessGame.TeamColor.WHITE, "player1"),
+                "A stale release should not undo a newer claim");
+        GameData retrievedGame = gameDAO.getGame(7);
+        assertEquals("player3", retrievedGame.whiteUsername());
+        assertEquals("player2", retrievedGame.blackUsername());
+    }
+
+    @Test
+    @DisplayName("Negative Test: Racing Claims Seat Only One Player")
+    public void testClaimSeatRace() throws Exception {
+        gameDAO.insertGame(new GameData(6, null, null, "RaceGame", new ChessGame()));
+        List<Thread> threads = new ArrayList<>();
+        List<String> winners = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 8; i++) {
+            String username = "player" + i;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    if (gameDAO.claimSeat(6, ChessGame.TeamColor.BLACK, username)) {
+                        winners.add(username);
+                    }
+                } catch (DataAccessException e) {
+                    fail(e);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, winners.size());
+        assertEquals(winners.get(0), gameDAO.getGame(6).blackUsername());
+    }
+
     @Test
     @DisplayName("Negative Test: Update Non-Existent Game")
     public void testUpdateGameNotFound() throws DataAccessException {
@@ -103,6 +174,147 @@ public class SQLGameDAOTest {
         assertNotNull(games.get(2), "Game2 should be retrievable");
     }
 
+    @Test
+    @DisplayName("Positive Test: List Game Summaries")
+    public void testListGames() throws DataAccessException {
+        ChessGame finished = new ChessGame();
+        finished.setGameOver(true);
+        gameDAO.insertGame(new GameData(1, "player1", null, "Game1", new ChessGame()));
+        gameDAO.insertGame(new GameData(2, "player3", "player4", "Game2", new ChessGame()));
+        gameDAO.insertGame(new GameData(3, "player5", "player6", "Game3", finished));
+        List<GameSummary> games = gameDAO.listGames(GameQuery.firstPage()).games();
+        assertEquals(List.of(
+                new GameSummary(1, "player1", null, "Game1", GameSummary.Status.OPEN),
+                new GameSummary(2, "player3", "player4", "Game2", GameSummary.Status.IN_PROGRESS),
+                new GameSummary(3, "player5", "player6", "Game3", GameSummary.Status.FINISHED)), games);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Page Through Filtered Games")
+    public void testListGamesPages() throws DataAccessException {
+        for (int id = 1; id <= 5; id++) {
+            gameDAO.insertGame(new GameData(id, id % 2 == 1 ? "player1" : "player2", null, "Game" + id, new ChessGame()));
+        }
+        GameQuery query = new GameQuery(0, 2, "player1", GameSummary.Status.OPEN);
+        GamePage first = gameDAO.listGames(query);
+        assertEquals(List.of(1, 3), first.games().stream().map(GameSummary::gameID).toList());
+        assertEquals(3, first.nextCursor());
+
+        GamePage second = gameDAO.listGames(query.after(first.nextCursor()));
+        assertEquals(List.of(5), second.games().stream().map(GameSummary::gameID).toList());
+        assertNull(second.nextCursor(), "The last page should have no cursor");
+
+        assertTrue(gameDAO.listGames(new GameQuery(0, 2, null, GameSummary.Status.FINISHED)).games().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Legacy JSON Rows Are Read And Rewritten")
+    public void testLegacyJsonMigration() throws DataAccessException, SQLException {
+        ChessGame game = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b KQkq - 0 1");
+        game.setGameOver(true);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT INTO games (id, whiteUsername, blackUsername, gameName, gameState) VALUES (7, 'a', 'b', 'Old', ?)")) {
+            stmt.setString(1, new Gson().toJson(game));
+            stmt.executeUpdate();
+        }
+
+        assertEquals(game, gameDAO.getGame(7).game());
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT gameState, gameBinary FROM games WHERE id = 7");
+             ResultSet rs = stmt.executeQuery()) {
+            assertTrue(rs.next());
+            assertNull(rs.getString("gameState"), "The JSON should be dropped once migrated");
+            assertArrayEquals(GameCodec.encode(game), rs.getBytes("gameBinary"));
+        }
+        assertEquals(game, gameDAO.getGame(7).game());
+        assertEquals(GameSummary.Status.FINISHED, gameDAO.listGames(GameQuery.firstPage()).games().get(0).status());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Moves Are Logged And Replayed From The Latest Snapshot")
+    public void testMoveLog() throws DataAccessException, InvalidMoveException, SQLException {
+        SQLGameDAO loggingDAO = new SQLGameDAO(2);
+        loggingDAO.insertGame(new GameData(1, "player1", "player2", "Game1", new ChessGame()));
+        ChessGame game = new ChessGame();
+        ChessMove[] moves = {
+                new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null),
+                new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null),
+                new ChessMove(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null)
+        };
+        for (ChessMove move : moves) {
+            game.makeMove(move);
+            loggingDAO.appendMove(1, move, game.clone());
+        }
+
+        ChessGame loaded = loggingDAO.getGame(1).game();
+        assertEquals(game, loaded);
+        assertEquals(3, loaded.getPly());
+        assertEquals(game, loggingDAO.getAllGames().get(1).game());
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT snapshotPly, (SELECT COUNT(*) FROM game_moves WHERE game_id = 1) AS moves FROM games WHERE id = 1");
+             ResultSet rs = stmt.executeQuery()) {
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt("snapshotPly"), "Only every second ply should rewrite the state");
+            assertEquals(3, rs.getInt("moves"));
+        }
+
+        ChessGame restarted = new ChessGame();
+        loggingDAO.updateGameState(1, restarted);
+        assertEquals(restarted, loggingDAO.getGame(1).game(), "A full write should not replay older moves");
+    }
+
+    @Test
+    @DisplayName("Negative Test: A Gap In The Move Log Fails The Load")
+    public void testMoveLogGap() throws DataAccessException, InvalidMoveException, SQLException {
+        gameDAO.insertGame(new GameData(1, "player1", "player2", "Game1", new ChessGame()));
+        ChessGame game = new ChessGame();
+        ChessMove[] moves = {
+                new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null),
+                new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null),
+                new ChessMove(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null)
+        };
+        for (ChessMove move : moves) {
+            game.makeMove(move);
+            gameDAO.appendMove(1, move, game.clone());
+        }
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM game_moves WHERE game_id = 1 AND ply = 2")) {
+            stmt.executeUpdate();
+        }
+
+        DataAccessException e = assertThrows(DataAccessException.class, () -> gameDAO.getGame(1));
+        assertTrue(e.getMessage().contains("missing ply 2"), e.getMessage());
+        assertThrows(DataAccessException.class, () -> gameDAO.getAllGames());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Batched State Writes Match Individual Writes")
+    public void testWriteStates() throws DataAccessException, InvalidMoveException {
+        SQLGameDAO loggingDAO = new SQLGameDAO(2);
+        loggingDAO.insertGame(new GameData(1, "player1", "player2", "Game1", new ChessGame()));
+        loggingDAO.insertGame(new GameData(2, "player3", "player4", "Game2", new ChessGame()));
+        ChessGame game = new ChessGame();
+        List<GameStateWrite.LoggedMove> moves = new ArrayList<>();
+        for (ChessMove move : new ChessMove[]{
+                new ChessMove(ChessPosition.of(2, 4), ChessPosition.of(4, 4), null),
+                new ChessMove(ChessPosition.of(7, 4), ChessPosition.of(5, 4), null),
+                new ChessMove(ChessPosition.of(1, 2), ChessPosition.of(3, 3), null)}) {
+            game.makeMove(move);
+            moves.add(new GameStateWrite.LoggedMove(game.getPly(), Move.of(move)));
+        }
+        ChessGame resigned = new ChessGame();
+        resigned.setGameOver(true);
+
+        loggingDAO.writeStates(List.of(
+                new GameStateWrite(1, moves, game.clone(), GameStateWrite.NO_DISCARD),
+                new GameStateWrite(2, List.of(), resigned, 0)));
+        assertEquals(game, loggingDAO.getGame(1).game());
+        assertEquals(3, loggingDAO.getGame(1).game().getPly());
+        assertTrue(loggingDAO.getGame(2).game().isGameOver());
+    }
+
     @Test
     @DisplayName("Positive Test: Clear Games Table")
     public void testClearGames() throws DataAccessException {
@@ -0,0 +1,202 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import model.GameData;
+import model.GamePage;
+import model.GameQuery;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindGameDAOTest {
+
+    private RecordingGameDAO backing;
+    private WriteBehindGameDAO gameDAO;
+
+    @BeforeEach
+    public void setup() {
+        backing = new RecordingGameDAO();
+        // Long enough that nothing is flushed unless a test asks for it
+        gameDAO = new WriteBehindGameDAO(backing, 60_000, 16, 10);
+    }
+
+    @AfterEach
+    public void tearDown() throws DataAccessException {
+        gameDAO.close();
+    }
+
+    @Test
+    @DisplayName("Positive Test: Queued Writes Are Coalesced Into One Batch")
+    public void testCoalescing() throws DataAccessException, InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessMove first = new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        ChessMove second = new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null);
+        game.makeMove(first);
+        gameDAO.appendMove(1, first, game);
+        game.makeMove(second);
+        gameDAO.appendMove(1, second, game);
+        gameDAO.updateGameState(2, new ChessGame());
+        gameDAO.updateGameState(2, new ChessGame());
+        assertTrue(backing.log.isEmpty(), "Writes should wait for the flush");
+
+        gameDAO.flush();
+        assertEquals(List.of("writeStates"), backing.log);
+        List<GameStateWrite> batch = backing.batches.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(2, batch.get(0).moves().size());
+        assertEquals(game, batch.get(0).latest());
+        assertFalse(batch.get(0).replacesState());
+        assertTrue(batch.get(1).replacesState());
+        assertEquals(new WriteBehindGameDAO.Stats(1, 2, 0), gameDAO.stats());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Reading A Game Waits For Its Queued Writes")
+    public void testReadAfterWrite() throws DataAccessException {
+        gameDAO.updateGameState(1, new ChessGame());
+        gameDAO.getGame(1);
+        assertEquals(List.of("writeStates", "getGame"), backing.log);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Listing Games Waits For Queued Writes")
+    public void testListAfterWrite() throws DataAccessException {
+        ChessGame resigned = new ChessGame();
+        resigned.setGameOver(true);
+        gameDAO.updateGameState(1, resigned);
+        gameDAO.listGames(GameQuery.firstPage());
+        assertEquals(List.of("writeStates", "listGames"), backing.log);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Closing Writes Everything Still Queued")
+    public void testCloseFlushes() throws DataAccessException {
+        gameDAO.updateGameState(1, new ChessGame());
+        gameDAO.close();
+        assertEquals(List.of("writeStates"), backing.log);
+
+        gameDAO.updateGameState(1, new ChessGame());
+        assertEquals(List.of("writeStates", "updateGameState"), backing.log, "Writes after close go straight through");
+    }
+
+    @Test
+    @DisplayName("Negative Test: A Failed Flush Is Retried")
+    public void testRetry() throws DataAccessException {
+        backing.failures = 1;
+        gameDAO.updateGameState(1, new ChessGame());
+        gameDAO.flush();
+        assertEquals(List.of("writeStates", "writeStates"), backing.log);
+        assertEquals(1, gameDAO.stats().flushes());
+    }
+
+    @Test
+    @DisplayName("Negative Test: Close Retries The Last Batch And Reports What It Could Not Save")
+    public void testCloseGivesUp() throws DataAccessException {
+        RecordingGameDAO failing = new RecordingGameDAO();
+        failing.failures = Integer.MAX_VALUE;
+        WriteBehindGameDAO closing = new WriteBehindGameDAO(failing, 60_000, 16, 10);
+        closing.updateGameState(2, new ChessGame());
+        closing.updateGameState(1, new ChessGame());
+        DataAccessException e = assertThrows(DataAccessException.class, closing::close);
+        assertEquals("Gave up saving games [1, 2] on shutdown", e.getMessage());
+        assertEquals(List.of("writeStates", "writeStates", "writeStates"), failing.log);
+    }
+
+    @Test
+    @DisplayName("Negative Test: Saving An Earlier State Drops Moves Queued Past It")
+    public void testResetDropsLaterMoves() throws DataAccessException, InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessMove first = new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        ChessMove second = new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null);
+        game.makeMove(first);
+        gameDAO.appendMove(1, first, game);
+        ChessGame afterFirst = game.clone();
+        game.makeMove(second);
+        gameDAO.appendMove(1, second, game);
+        gameDAO.updateGameState(1, afterFirst);
+
+        gameDAO.flush();
+        GameStateWrite write = backing.batches.get(0).get(0);
+        assertEquals(List.of(1), write.moves().stream().map(GameStateWrite.LoggedMove::ply).toList());
+        assertEquals(1, write.discardAfter());
+        assertEquals(afterFirst, write.latest());
+    }
+
+    private static class RecordingGameDAO implements GameDAO {
+        private final List<String> log = new ArrayList<>();
+        private final List<List<GameStateWrite>> batches = new ArrayList<>();
+        private int failures;
+
+        @Override
+        public synchronized GameData getGame(int gameID) {
+            log.add("getGame");
+            return null;
+        }
+
+        @Override
+        public synchronized int insertGame(GameData gameData) {
+            log.add("insertGame");
+            return gameData.gameID();
+        }
+
+        @Override
+        public synchronized void updateGame(GameData gameData) {
+            log.add("updateGame");
+        }
+
+        @Override
+        public synchronized boolean claimSeat(int gameID, ChessGame.TeamColor color, String username) {
+            log.add("claimSeat");
+            return true;
+        }
+
+        @Override
+        public synchronized boolean releaseSeat(int gameID, ChessGame.TeamColor color, String username) {
+            log.add("releaseSeat");
+            return true;
+        }
+
+        @Override
+        public synchronized void updateGameState(int gameID, ChessGame updatedGame) {
+            log.add("updateGameState");
+        }
+
+        @Override
+        public synchronized void appendMove(int gameID, ChessMove move, ChessGame updatedGame) {
+            log.add("appendMove");
+        }
+
+        @Override
+        public synchronized void writeStates(List<GameStateWrite> writes) throws DataAccessException {
+            log.add("writeStates");
+            if (failures > 0) {
+                failures--;
+                throw new DataAccessException("Write failed");
+            }
+            batches.add(writes);
+        }
+
+        @Override
+        public Map<Integer, GameData> getAllGames() {
+            return Map.of();
+        }
+
+        @Override
+        public synchronized GamePage listGames(GameQuery query) {
+            log.add("listGames");
+            return new GamePage(List.of(), null);
+        }
+
+        @Override
+        public synchronized void clearGames() {
+            log.add("clearGames");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package server;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import dataaccess.DataAccessException;
+import dataaccess.MemoryGameDAO;
+import model.GameData;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameActorsTest {
+
+    @Test
+    @DisplayName("Negative Test: A Failed Save Drops The Resident Game")
+    public void testFailedSave() throws DataAccessException, InvalidMoveException {
+        MemoryGameDAO gameDAO = new MemoryGameDAO() {
+            @Override
+            public void appendMove(int gameID, ChessMove move, ChessGame updatedGame) {
+                throw new IllegalStateException("Backend down");
+            }
+        };
+        gameDAO.insertGame(new GameData(1, "white", "black", "game", new ChessGame()));
+        GameActors games = new GameActors(gameDAO, 0);
+
+        GameData gameData = games.game(1);
+        ChessMove move = new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        gameData.game().makeMove(move);
+        assertFalse(games.saveMove(1, move, gameData.game()));
+        assertEquals(0, games.residentGames());
+        assertEquals(new ChessGame(), games.game(1).game(), "The unsaved move should not survive a reload");
+    }
+}
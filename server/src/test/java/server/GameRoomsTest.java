@@ -0,0 +1,92 @@
+package server;
+
+import org.eclipse.jetty.websocket.api.Session;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRoomsTest {
+
+    private static Session newSession() {
+        return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[]{Session.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> null;
+                });
+    }
+
+    @Test
+    @DisplayName("Positive Test: Sessions Are Grouped By Game")
+    public void testJoin() {
+        GameRooms rooms = new GameRooms();
+        Session first = newSession();
+        Session second = newSession();
+        Session other = newSession();
+        rooms.join(1, first);
+        rooms.join(1, second);
+        rooms.join(2, other);
+
+        assertEquals(2, rooms.sessions(1).size());
+        assertTrue(rooms.sessions(1).contains(first));
+        assertFalse(rooms.sessions(1).contains(other));
+        assertEquals(1, rooms.sessions(2).size());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Empty Rooms Are Dropped")
+    public void testLeave() {
+        GameRooms rooms = new GameRooms();
+        Session session = newSession();
+        rooms.join(1, session);
+        rooms.leave(1, session);
+        assertTrue(rooms.sessions(1).isEmpty());
+        assertEquals(0, rooms.roomCount());
+    }
+
+    @Test
+    @DisplayName("Negative Test: Leaving An Unknown Game Is Ignored")
+    public void testLeaveUnknown() {
+        GameRooms rooms = new GameRooms();
+        Session session = newSession();
+        rooms.join(1, session);
+        rooms.leave(2, session);
+        assertEquals(1, rooms.sessions(1).size());
+        assertTrue(rooms.sessions(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Joining While The Last Session Leaves Keeps The Room")
+    public void testConcurrentJoinAndLeave() throws Exception {
+        GameRooms rooms = new GameRooms();
+        for (int i = 0; i < 2000; i++) {
+            Session leaving = newSession();
+            Session joining = newSession();
+            rooms.join(1, leaving);
+            CyclicBarrier start = new CyclicBarrier(2);
+            Thread leaver = Thread.ofPlatform().start(() -> {
+                await(start);
+                rooms.leave(1, leaving);
+            });
+            await(start);
+            rooms.join(1, joining);
+            leaver.join();
+
+            assertEquals(1, rooms.sessions(1).size(), "Iteration " + i);
+            assertTrue(rooms.sessions(1).contains(joining), "Iteration " + i);
+            rooms.leave(1, joining);
+        }
+        assertEquals(0, rooms.roomCount());
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package server;
+
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboundQueueTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private final List<WriteCallback> inFlight = new ArrayList<>();
+    private boolean completeImmediately;
+    private boolean disconnected;
+    private Session session;
+
+    @BeforeEach
+    public void setup() {
+        RemoteEndpoint remote = (RemoteEndpoint) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RemoteEndpoint.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("sendString") && args.length == 2) {
+                        sent.add((String) args[0]);
+                        if (completeImmediately) {
+                            ((WriteCallback) args[1]).writeSuccess();
+                        } else {
+                            inFlight.add((WriteCallback) args[1]);
+                        }
+                    }
+                    return null;
+                });
+        session = (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Session.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getRemote" -> remote;
+                    case "disconnect" -> {
+                        disconnected = true;
+                        yield null;
+                    }
+                    case "isOpen" -> !disconnected;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> null;
+                });
+    }
+
+    private void completeNext() {
+        inFlight.remove(0).writeSuccess();
+    }
+
+    @Test
+    @DisplayName("Positive Test: One Frame In Flight, Sent In Order")
+    public void testOrdering() {
+        OutboundQueue queue = new OutboundQueue(session, 8, OutboundQueue.SlowConsumerPolicy.DISCONNECT);
+        queue.send("a", false);
+        queue.send("b", false);
+        queue.send("c", false);
+        assertEquals(List.of("a"), sent);
+        assertEquals(2, queue.pending());
+        completeNext();
+        completeNext();
+        completeNext();
+        assertEquals(List.of("a", "b", "c"), sent);
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Synchronous Completions Drain The Queue")
+    public void testSynchronousCompletion() {
+        completeImmediately = true;
+        OutboundQueue queue = new OutboundQueue(session, 2, OutboundQueue.SlowConsumerPolicy.DISCONNECT);
+        for (int i = 0; i < 100; i++) {
+            queue.send("m" + i, false);
+        }
+        assertEquals(100, sent.size());
+        assertFalse(disconnected);
+    }
+
+    @Test
+    @DisplayName("Positive Test: Stale Board Updates Are Dropped For Slow Clients")
+    public void testDropStaleLoadGame() {
+        OutboundQueue queue = new OutboundQueue(session, 3, OutboundQueue.SlowConsumerPolicy.DROP_STALE_THEN_DISCONNECT);
+        queue.send("board1", true);  // In flight
+        queue.send("board2", true);
+        queue.send("note", false);
+        queue.send("board3", true);
+        queue.send("board4", true);  // Queue is full: board2 and board3 are superseded
+        assertFalse(disconnected);
+        assertEquals(2, queue.droppedFrames());
+        completeNext();
+        completeNext();
+        completeNext();
+        assertEquals(List.of("board1", "note", "board4"), sent);
+    }
+
+    @Test
+    @DisplayName("Negative Test: Slow Client Is Disconnected When Nothing Can Be Dropped")
+    public void testDisconnectWhenFull() {
+        OutboundQueue queue = new OutboundQueue(session, 2, OutboundQueue.SlowConsumerPolicy.DROP_STALE_THEN_DISCONNECT);
+        queue.send("a", false);
+        queue.send("b", false);
+        queue.send("c", false);
+        assertFalse(disconnected);
+        queue.send("d", false);
+        assertTrue(disconnected);
+        queue.send("e", false);
+        completeNext();
+        assertEquals(List.of("a"), sent);
+    }
+
+    @Test
+    @DisplayName("Negative Test: Disconnect Policy Does Not Drop Frames")
+    public void testDisconnectPolicy() {
+        OutboundQueue queue = new OutboundQueue(session, 1, OutboundQueue.SlowConsumerPolicy.DISCONNECT);
+        queue.send("board1", true);
+        queue.send("board2", true);
+        queue.send("board3", true);
+        assertTrue(disconnected);
+        assertEquals(0, queue.droppedFrames());
+    }
+}
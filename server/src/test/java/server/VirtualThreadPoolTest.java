@@ -0,0 +1,59 @@
+package server;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadPoolTest {
+
+    @Test
+    @DisplayName("Positive Test: Tasks Run On Virtual Threads")
+    public void testVirtualThreads() throws Exception {
+        VirtualThreadPool pool = new VirtualThreadPool();
+        pool.start();
+        try {
+            AtomicBoolean virtual = new AtomicBoolean();
+            CountDownLatch done = new CountDownLatch(1);
+            assertTrue(pool.tryExecute(() -> {
+                virtual.set(Thread.currentThread().isVirtual());
+                done.countDown();
+            }));
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(virtual.get());
+        } finally {
+            pool.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Positive Test: Blocked Tasks Do Not Exhaust The Pool")
+    public void testManyBlockedTasks() throws Exception {
+        VirtualThreadPool pool = new VirtualThreadPool();
+        pool.start();
+        try {
+            int tasks = 10_000;
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(tasks);
+            for (int i = 0; i < tasks; i++) {
+                pool.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertTrue(started.await(10, TimeUnit.SECONDS), "Every task should start while the others block");
+            assertEquals(tasks, pool.getThreads());
+            assertFalse(pool.isLowOnThreads());
+            release.countDown();
+        } finally {
+            pool.stop();
+        }
+    }
+}
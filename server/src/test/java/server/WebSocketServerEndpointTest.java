@@ -0,0 +1,131 @@
+package server;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import com.google.gson.Gson;
+import dataaccess.DataAccessException;
+import dataaccess.MemoryAuthDAO;
+import dataaccess.MemoryGameDAO;
+import model.AuthData;
+import model.GameData;
+import model.GameQuery;
+import model.GameSummary;
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.junit.jupiter.api.*;
+import websocket.commands.UserGameCommand;
+
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebSocketServerEndpointTest {
+
+    private static final int GAME_ID = 1;
+
+    private final Gson gson = new Gson();
+    private MemoryAuthDAO authDAO;
+    private MemoryGameDAO gameDAO;
+    private WebSocketServerEndpoint endpoint;
+
+    @BeforeEach
+    public void setup() throws DataAccessException {
+        authDAO = new MemoryAuthDAO();
+        gameDAO = new MemoryGameDAO();
+        authDAO.insertAuth(new AuthData("white-token", "white"));
+        authDAO.insertAuth(new AuthData("black-token", "black"));
+        gameDAO.insertGame(new GameData(GAME_ID, "white", "black", "game", new ChessGame()));
+        // Commands run on the calling thread, so every message has been sent when onMessage returns
+        endpoint = new WebSocketServerEndpoint(authDAO, gameDAO, 0);
+    }
+
+    @Test
+    @DisplayName("Positive Test: A Checkmated Game Is Listed As Finished")
+    public void testCheckmateFinishesGame() throws DataAccessException {
+        StubSession white = connect("white-token");
+        StubSession black = connect("black-token");
+
+        endpoint.onMessage(white.session, move("white-token", 2, 6, 3, 6));
+        endpoint.onMessage(black.session, move("black-token", 7, 5, 5, 5));
+        endpoint.onMessage(white.session, move("white-token", 2, 7, 4, 7));
+        endpoint.onMessage(black.session, move("black-token", 8, 4, 4, 8));
+
+        assertTrue(gameDAO.getGame(GAME_ID).game().isGameOver());
+        List<GameSummary> finished = gameDAO.listGames(
+                new GameQuery(0, GameQuery.DEFAULT_LIMIT, null, GameSummary.Status.FINISHED)).games();
+        assertEquals(List.of(GAME_ID), finished.stream().map(GameSummary::gameID).toList());
+        assertTrue(white.sent.stream().anyMatch(message -> message.contains("Checkmate")));
+    }
+
+    @Test
+    @DisplayName("Negative Test: A Move That Cannot Be Saved Is Reported To The Mover Only")
+    public void testUnsavedMove() throws DataAccessException {
+        MemoryGameDAO failingDAO = new MemoryGameDAO() {
+            @Override
+            public void appendMove(int gameID, ChessMove move, ChessGame updatedGame) {
+                throw new IllegalStateException("Backend down");
+            }
+        };
+        failingDAO.insertGame(new GameData(GAME_ID, "white", "black", "game", new ChessGame()));
+        endpoint = new WebSocketServerEndpoint(authDAO, failingDAO, 0);
+        StubSession white = connect("white-token");
+        StubSession black = connect("black-token");
+        int blackReceived = black.sent.size();
+
+        endpoint.onMessage(white.session, move("white-token", 2, 5, 4, 5));
+
+        assertTrue(white.sent.get(white.sent.size() - 1).contains("could not be saved"));
+        assertEquals(blackReceived, black.sent.size(), "The opponent should not see an unsaved move");
+        assertEquals(new ChessGame(), failingDAO.getGame(GAME_ID).game());
+    }
+
+    private StubSession connect(String authToken) {
+        StubSession stub = new StubSession();
+        endpoint.onOpen(stub.session);
+        endpoint.onMessage(stub.session, gson.toJson(
+                new UserGameCommand(UserGameCommand.CommandType.CONNECT, authToken, GAME_ID)));
+        return stub;
+    }
+
+    private String move(String authToken, int fromRow, int fromCol, int toRow, int toCol) {
+        ChessMove move = new ChessMove(new ChessPosition(fromRow, fromCol), new ChessPosition(toRow, toCol), null);
+        return gson.toJson(new UserGameCommand(UserGameCommand.CommandType.MAKE_MOVE, authToken, GAME_ID, move));
+    }
+
+    /**
+     * A session that is always open and records every message sent to it.
+     */
+    private static final class StubSession {
+        private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        private final Session session;
+
+        private StubSession() {
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", 0);
+            RemoteEndpoint remote = (RemoteEndpoint) Proxy.newProxyInstance(Session.class.getClassLoader(),
+                    new Class<?>[]{RemoteEndpoint.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("sendString")) {
+                            sent.add((String) args[0]);
+                            if (args.length == 2) {
+                                ((WriteCallback) args[1]).writeSuccess();
+                            }
+                        }
+                        return null;
+                    });
+            session = (Session) Proxy.newProxyInstance(Session.class.getClassLoader(),
+                    new Class<?>[]{Session.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "getRemote" -> remote;
+                        case "getRemoteAddress" -> address;
+                        case "isOpen" -> true;
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    });
+        }
+    }
+}
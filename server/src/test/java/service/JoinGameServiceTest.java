@@ -50,4 +50,23 @@ public class JoinGameServiceTest {
         }, "Exception should be thrown for unauthorized access.");
         Assertions.assertNotNull(exception, "Exception should be thrown for invalid auth token.");
     }
+
+    @Test
+    @Order(3)
+    @DisplayName("Join Game Color Taken")
+    public void testJoinGameColorTaken() throws Exception {
+        mockAuthDAO.insertAuth(new AuthData("authToken123", "testuser"));
+        mockAuthDAO.insertAuth(new AuthData("authToken456", "otheruser"));
+        mockGameDAO.insertGame(new GameData(1, null, null, "testGame", null));
+        joinGameService.joinGame(1, "BLACK", "authToken123");
+        Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            joinGameService.joinGame(1, "BLACK", "authToken456");
+        }, "A taken color should be rejected.");
+        Assertions.assertTrue(exception.getMessage().startsWith("Color already taken"));
+        Assertions.assertEquals("testuser", mockGameDAO.getGame(1).blackUsername(), "The first player should keep the seat.");
+        Exception missing = Assertions.assertThrows(Exception.class, () -> {
+            joinGameService.joinGame(2, "WHITE", "authToken456");
+        });
+        Assertions.assertEquals("Game not found", missing.getMessage());
+    }
 }
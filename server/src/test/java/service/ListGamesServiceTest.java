@@ -3,6 +3,8 @@ package service;
 import dataaccess.*;
 import model.AuthData;
 import model.GameData;
+import model.GameQuery;
+import model.GameSummary;
 import org.junit.jupiter.api.*;
 
 import java.util.List;
@@ -32,7 +34,7 @@ public class ListGamesServiceTest {
         mockAuthDAO.insertAuth(new AuthData(validAuthToken, "testuser"));
         mockGameDAO.insertGame(new GameData(1, "testuser1", null, "testGame1", null));
         mockGameDAO.insertGame(new GameData(2, "testuser2", null, "testGame2", null));
-        List<GameData> games = listGamesService.listAllGames(validAuthToken);
+        List<GameSummary> games = listGamesService.listGames(validAuthToken, GameQuery.firstPage()).games();
         Assertions.assertEquals(2, games.size(), "There should be 2 games listed.");
         Assertions.assertEquals("testGame1", games.get(0).gameName(), "First game should be 'testGame1'.");
         Assertions.assertEquals("testGame2", games.get(1).gameName(), "Second game should be 'testGame2'.");
@@ -45,7 +47,7 @@ public class ListGamesServiceTest {
         mockGameDAO.insertGame(new GameData(1, "testuser1", null, "testGame1", null));
         String invalidAuthToken = "invalidToken";
         Exception exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
-            listGamesService.listAllGames(invalidAuthToken);
+            listGamesService.listGames(invalidAuthToken, GameQuery.firstPage());
         }, "Exception should be thrown for unauthorized access.");
         Assertions.assertNotNull(exception, "Exception should be thrown for invalid auth token.");
     }
@@ -0,0 +1,62 @@
+package service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTest {
+
+    @Test
+    @DisplayName("Positive Test: Hash And Check Round Trip")
+    public void testHashAndCheck() {
+        PasswordHasher hasher = new PasswordHasher(1, 4);
+        try {
+            String hashed = hasher.hash("password123");
+            assertNotEquals("password123", hashed);
+            assertTrue(hasher.check("password123", hashed));
+            assertFalse(hasher.check("wrongpassword", hashed));
+
+            PasswordHasher.Stats stats = hasher.stats();
+            assertEquals(3, stats.completed());
+            assertEquals(0, stats.rejected());
+            assertTrue(stats.averageHashMillis() > 0);
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Negative Test: Saturated Pool Rejects Immediately")
+    public void testSaturation() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Thread busy = new Thread(() -> hasher.run(() -> {
+                running.countDown();
+                return release.await(10, TimeUnit.SECONDS);
+            }));
+            busy.start();
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            Thread queued = new Thread(() -> hasher.run(() -> true));
+            queued.start();
+            while (hasher.stats().queued() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(ServiceUnavailableException.class, () -> hasher.hash("password123"));
+            assertEquals(1, hasher.stats().rejected());
+
+            release.countDown();
+            busy.join();
+            queued.join();
+            assertEquals(2, hasher.stats().completed());
+        } finally {
+            release.countDown();
+            hasher.shutdown();
+        }
+    }
+}
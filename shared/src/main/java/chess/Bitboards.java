@@ -0,0 +1,276 @@
+package chess;
+
+/**
+ * Square and attack helpers for the bitboard representation used by {@link ChessBoard}.
+ * Squares are numbered 0-63 with a1 = 0, h1 = 7 and h8 = 63, so bit {@code n} of a
+ * bitboard is set when square {@code n} is occupied.
+ * <br/>
+ * All attack sets come from tables built once when the class loads. Rook and bishop
+ * attacks use magic bitboards: the blockers on a piece's rays are multiplied by a
+ * per-square magic number whose top bits index a table of precomputed attack sets.
+ * The magic numbers were found offline with a sparse random search; building the tables
+ * checks that each one still maps every blocker set without a collision.
+ */
+final class Bitboards {
+
+    static final long FILE_A = 0x0101010101010101L;
+    static final long FILE_H = FILE_A << 7;
+    static final long RANK_1 = 0xFFL;
+    static final long RANK_8 = RANK_1 << 56;
+
+    private static final long NOT_FILE_A = ~FILE_A;
+    private static final long NOT_FILE_H = ~FILE_H;
+    private static final long NOT_FILE_AB = ~(FILE_A | (FILE_A << 1));
+    private static final long NOT_FILE_GH = ~(FILE_H | (FILE_H >>> 1));
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long[] ROOK_MAGIC_NUMBERS = {
+            0x2080002080400010L, 0x00C0002001401000L, 0x2100110008402002L, 0x0880080081041000L,
+            0x0200020020041008L, 0x2300040008010012L, 0x0C00283004008201L, 0x0180010000407A80L,
+            0x0168800080400020L, 0x0010400040201000L, 0x1001002001001048L, 0x1001002408100100L,
+            0x0801000408010012L, 0x4001000209000400L, 0x08A20004C8020001L, 0x2002801145002280L,
+            0x0080860021004200L, 0x001000C009402002L, 0x00B0002004002800L, 0x100A808010020800L,
+            0x9400808004000800L, 0x0090808004000200L, 0x0000040010810208L, 0x2000020000448534L,
+            0x4104400480008033L, 0x0000810100204000L, 0x0440430900200010L, 0x4600240900100100L,
+            0x0804080100110004L, 0x0001000300080400L, 0x0004084400011002L, 0x0023040200008041L,
+            0x0580050043002080L, 0x0400804002802008L, 0x0001002001004010L, 0x0080200A02001040L,
+            0x600D480280802400L, 0x400B800201800C00L, 0x2408211004004208L, 0x0200211082000844L,
+            0x0020804010208000L, 0x5030004020104000L, 0xA042084080220010L, 0x4088080010008080L,
+            0x5002080100110004L, 0x2012002010040400L, 0x0040318210440008L, 0x0120941040820001L,
+            0x1000800100402100L, 0x0040002010004840L, 0x8108450020001900L, 0x0200204008120200L,
+            0x0080800C00180180L, 0x0885000400420900L, 0x230802011008C400L, 0x3801740891432200L,
+            0x0A00250212024082L, 0x0000882040001105L, 0x0042102082000A42L, 0xC401210810000501L,
+            0x0241001002480005L, 0x0081000400880241L, 0x0000009008024124L, 0x0048122980410402L
+    };
+
+    private static final long[] BISHOP_MAGIC_NUMBERS = {
+            0x1862221006220044L, 0x2104A14202020060L, 0x2804081220444001L, 0x2102408900010001L,
+            0x0002021000040002L, 0x08C3100805004300L, 0x1084040124920050L, 0x8900440043382010L,
+            0x2401410802140040L, 0x0901200454208020L, 0x0000090216020541L, 0x1283844040800804L,
+            0x0521840420000803L, 0x0800010402400C40L, 0x0000408E10100404L, 0x0009810048420800L,
+            0x2004211004286808L, 0x13080A1001380080L, 0x0008801004220020L, 0x0024000802480800L,
+            0x1461001190400401L, 0x0020400200500440L, 0x0003000409019000L, 0x000C20820D011802L,
+            0x000804002164100CL, 0x00048400A0011404L, 0x5018110308044100L, 0x0048A00804010020L,
+            0x0007840000802000L, 0x8808A20075004220L, 0x8014040000822100L, 0x110C03000E251101L,
+            0x0081094820202010L, 0x0008041000044100L, 0x00C1202808940800L, 0x8108100821040400L,
+            0x1240010010010041L, 0x0810004080011000L, 0x00A20C0401804A00L, 0x40014C0020050500L,
+            0x5805082012042480L, 0x2004022144031000L, 0x2082002024204808L, 0x0800004200800800L,
+            0x0410020204100A02L, 0x80C1204080804101L, 0x0010104E01800042L, 0x000800810C400208L,
+            0x100080B008201210L, 0x8000440605112101L, 0x000202008C440040L, 0x9004002210442200L,
+            0x2032014088222045L, 0x0C00202222C20000L, 0x0140040820A50100L, 0x0222104C29024018L,
+            0x0200110121202004L, 0x0800104200B00802L, 0x0000401424020801L, 0x4000000004208840L,
+            0x0802E00040104100L, 0x03000020A0424080L, 0x0011C00408188121L, 0x0848020822040013L
+    };
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final Magic[] ROOK_MAGICS = new Magic[64];
+    private static final Magic[] BISHOP_MAGICS = new Magic[64];
+
+    // Squares strictly between two squares that share a rank, file or diagonal (0 otherwise).
+    private static final long[][] BETWEEN = new long[64][64];
+    // The whole rank, file or diagonal through two aligned squares (0 otherwise).
+    private static final long[][] LINE = new long[64][64];
+
+    /**
+     * Lookup data for one square: the relevant blocker mask, the magic multiplier, the shift
+     * that leaves the index bits, and the attack sets indexed by that value.
+     */
+    private record Magic(long mask, long magic, int shift, long[] attacks) {
+        long lookup(long occupied) {
+            return attacks[(int) (((occupied & mask) * magic) >>> shift)];
+        }
+    }
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = computeKnightAttacks(square);
+            KING_ATTACKS[square] = computeKingAttacks(square);
+            PAWN_ATTACKS[ChessGame.TeamColor.WHITE.ordinal()][square]
+                    = computePawnAttacks(ChessGame.TeamColor.WHITE, square);
+            PAWN_ATTACKS[ChessGame.TeamColor.BLACK.ordinal()][square]
+                    = computePawnAttacks(ChessGame.TeamColor.BLACK, square);
+            ROOK_MAGICS[square] = buildMagic(square, ROOK_DIRECTIONS, ROOK_MAGIC_NUMBERS[square]);
+            BISHOP_MAGICS[square] = buildMagic(square, BISHOP_DIRECTIONS, BISHOP_MAGIC_NUMBERS[square]);
+        }
+        for (int from = 0; from < 64; from++) {
+            for (int[][] directions : new int[][][]{ROOK_DIRECTIONS, BISHOP_DIRECTIONS}) {
+                for (int[] direction : directions) {
+                    long line = slide(from, 0L, direction[0], direction[1])
+                            | slide(from, 0L, -direction[0], -direction[1]) | (1L << from);
+                    long between = 0L;
+                    int r = row(from) + direction[0];
+                    int c = column(from) + direction[1];
+                    while (onBoard(r, c)) {
+                        int to = square(r, c);
+                        BETWEEN[from][to] = between;
+                        LINE[from][to] = line;
+                        between |= 1L << to;
+                        r += direction[0];
+                        c += direction[1];
+                    }
+                }
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    static int square(int row, int col) {
+        return (row - 1) * 8 + (col - 1);
+    }
+
+    static int square(ChessPosition position) {
+        return square(position.getRow(), position.getColumn());
+    }
+
+    static int row(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    static int column(int square) {
+        return (square & 7) + 1;
+    }
+
+    static boolean onBoard(int row, int col) {
+        return row >= 1 && row <= 8 && col >= 1 && col <= 8;
+    }
+
+    static ChessPosition position(int square) {
+        return ChessPosition.of(square);
+    }
+
+    static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * 6 + type.ordinal();
+    }
+
+    static ChessGame.TeamColor opponent(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Squares attacked by a pawn of the given color standing on {@code square}.
+     */
+    static long pawnAttacks(ChessGame.TeamColor color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    static long rookAttacks(int square, long occupied) {
+        return ROOK_MAGICS[square].lookup(occupied);
+    }
+
+    static long bishopAttacks(int square, long occupied) {
+        return BISHOP_MAGICS[square].lookup(occupied);
+    }
+
+    private static long computeKnightAttacks(int square) {
+        long b = 1L << square;
+        return ((b << 17) & NOT_FILE_A) | ((b << 15) & NOT_FILE_H)
+                | ((b << 10) & NOT_FILE_AB) | ((b << 6) & NOT_FILE_GH)
+                | ((b >>> 17) & NOT_FILE_H) | ((b >>> 15) & NOT_FILE_A)
+                | ((b >>> 10) & NOT_FILE_GH) | ((b >>> 6) & NOT_FILE_AB);
+    }
+
+    private static long computeKingAttacks(int square) {
+        long b = 1L << square;
+        long sides = ((b << 1) & NOT_FILE_A) | ((b >>> 1) & NOT_FILE_H);
+        long row = b | sides;
+        return sides | (row << 8) | (row >>> 8);
+    }
+
+    private static long computePawnAttacks(ChessGame.TeamColor color, int square) {
+        long b = 1L << square;
+        if (color == ChessGame.TeamColor.WHITE) {
+            return ((b << 9) & NOT_FILE_A) | ((b << 7) & NOT_FILE_H);
+        }
+        return ((b >>> 7) & NOT_FILE_A) | ((b >>> 9) & NOT_FILE_H);
+    }
+
+    /**
+     * Fills the attack table for one square, indexing every blocker subset of its rays by
+     * the magic multiplier.
+     */
+    private static Magic buildMagic(int square, int[][] directions, long magic) {
+        long mask = relevantBlockers(square, directions);
+        int bits = Long.bitCount(mask);
+        int shift = 64 - bits;
+        long[] attacks = new long[1 << bits];
+        long blockers = 0L;
+        do {
+            long reference = slidingAttacks(square, blockers, directions);
+            int index = (int) ((blockers * magic) >>> shift);
+            if (attacks[index] != 0 && attacks[index] != reference) {
+                throw new IllegalStateException("Magic number collision on square " + square);
+            }
+            attacks[index] = reference;
+            // Carry-rippler trick: steps through every subset of the mask.
+            blockers = (blockers - mask) & mask;
+        } while (blockers != 0);
+        return new Magic(mask, magic, shift, attacks);
+    }
+
+    /**
+     * Squares whose occupancy can change the attacks from {@code square}: the rays without
+     * their final edge square, which is attacked whether or not it is occupied.
+     */
+    private static long relevantBlockers(int square, int[][] directions) {
+        long mask = 0L;
+        for (int[] direction : directions) {
+            int r = row(square) + direction[0];
+            int c = column(square) + direction[1];
+            while (onBoard(r + direction[0], c + direction[1])) {
+                mask |= 1L << square(r, c);
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for (int[] direction : directions) {
+            attacks |= slide(square, occupied, direction[0], direction[1]);
+        }
+        return attacks;
+    }
+
+    /**
+     * Walks one ray from {@code square}, stopping on (and including) the first occupied square.
+     */
+    private static long slide(int square, long occupied, int rowOffset, int colOffset) {
+        long attacks = 0L;
+        int r = row(square) + rowOffset;
+        int c = column(square) + colOffset;
+        while (onBoard(r, c)) {
+            long bit = 1L << square(r, c);
+            attacks |= bit;
+            if ((occupied & bit) != 0) {
+                break;
+            }
+            r += rowOffset;
+            c += colOffset;
+        }
+        return attacks;
+    }
+}
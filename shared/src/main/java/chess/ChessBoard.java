@@ -1,51 +1,202 @@
 package chess;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 public class ChessBoard implements Cloneable {
+    private static final int WHITE_OCCUPANCY = 12;
+    private static final int BLACK_OCCUPANCY = 13;
+
     private ChessPiece[][] squares = new ChessPiece[8][8];
 
+    // Twelve piece sets (indexed by Bitboards.pieceIndex) followed by the white and black
+    // occupancy masks. Derived from squares, so it is not serialized and is rebuilt lazily
+    // after deserialization.
+    private transient long[] bitboards;
+    // Zobrist key of the pieces on the board, kept up to date alongside the bitboards.
+    private transient long zobristKey;
+
     public ChessBoard() {
         // Default constructor
     }
 
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        squares[position.getRow() - 1][position.getColumn() - 1] = piece;
+        setPiece(Bitboards.square(position), piece);
     }
 
     public ChessPiece getPiece(ChessPosition position) {
         return squares[position.getRow() - 1][position.getColumn() - 1];
     }
 
+    public ChessPiece getPiece(int square) {
+        return squares[square >>> 3][square & 7];
+    }
+
+    void setPiece(int square, ChessPiece piece) {
+        long[] sets = bitboards();
+        ChessPiece previous = squares[square >>> 3][square & 7];
+        long bit = 1L << square;
+        if (previous != null) {
+            sets[Bitboards.pieceIndex(previous.getTeamColor(), previous.getPieceType())] &= ~bit;
+            sets[occupancyIndex(previous.getTeamColor())] &= ~bit;
+            zobristKey ^= Zobrist.piece(previous, square);
+        }
+        if (piece != null) {
+            sets[Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType())] |= bit;
+            sets[occupancyIndex(piece.getTeamColor())] |= bit;
+            zobristKey ^= Zobrist.piece(piece, square);
+        }
+        squares[square >>> 3][square & 7] = piece;
+    }
+
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return bitboards()[Bitboards.pieceIndex(color, type)];
+    }
+
+    /**
+     * Zobrist key of the piece placement, updated incrementally as pieces are added, moved
+     * and removed. Equal boards always have equal keys.
+     */
+    public long getZobristKey() {
+        bitboards();
+        return zobristKey;
+    }
+
+    public long getOccupancy(ChessGame.TeamColor color) {
+        return bitboards()[occupancyIndex(color)];
+    }
+
+    public long getOccupancy() {
+        long[] sets = bitboards();
+        return sets[WHITE_OCCUPANCY] | sets[BLACK_OCCUPANCY];
+    }
+
+    /**
+     * Returns true if any piece of {@code attacker} attacks the given square.
+     */
+    public boolean isAttacked(int square, ChessGame.TeamColor attacker) {
+        return attackersTo(square, attacker, getOccupancy()) != 0;
+    }
+
+    /**
+     * Pieces of {@code attacker} that attack {@code square}, with sliding pieces blocked by
+     * {@code occupied} rather than the board's own occupancy.
+     */
+    long attackersTo(int square, ChessGame.TeamColor attacker, long occupied) {
+        long[] sets = bitboards();
+        int base = Bitboards.pieceIndex(attacker, ChessPiece.PieceType.KING);
+        long queens = sets[base + ChessPiece.PieceType.QUEEN.ordinal()];
+        long rooks = sets[base + ChessPiece.PieceType.ROOK.ordinal()] | queens;
+        long bishops = sets[base + ChessPiece.PieceType.BISHOP.ordinal()] | queens;
+        // A pawn of the defending color on this square attacks exactly where attacking pawns would stand.
+        return (Bitboards.pawnAttacks(Bitboards.opponent(attacker), square)
+                & sets[base + ChessPiece.PieceType.PAWN.ordinal()])
+                | (Bitboards.knightAttacks(square) & sets[base + ChessPiece.PieceType.KNIGHT.ordinal()])
+                | (Bitboards.kingAttacks(square) & sets[base + ChessPiece.PieceType.KING.ordinal()])
+                | (Bitboards.rookAttacks(square, occupied) & rooks)
+                | (Bitboards.bishopAttacks(square, occupied) & bishops);
+    }
+
+    /**
+     * Plays a move in place without any legality checks and returns a compact undo record
+     * (the moving piece and any captured piece) to hand back to {@link #unmakeMove}.
+     * A pawn reaching the last rank is promoted when the move names a promotion piece.
+     */
+    public int makeMove(ChessMove move) {
+        return makeMove(Move.of(move));
+    }
+
+    /**
+     * Same as {@link #makeMove(ChessMove)} for a packed {@link Move}.
+     */
+    public int makeMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = getPiece(from);
+        ChessPiece captured = getPiece(to);
+        int undo = pieceCode(piece) | (pieceCode(captured) << 4);
+
+        ChessPiece placed = piece;
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        if (piece.getPieceType() == ChessPiece.PieceType.PAWN && promotion != null
+                && Bitboards.row(to) == (piece.getTeamColor() == ChessGame.TeamColor.WHITE ? 8 : 1)) {
+            placed = ChessPiece.of(piece.getTeamColor(), promotion);
+        }
+        setPiece(to, placed);
+        setPiece(from, null);
+        return undo;
+    }
+
+    /**
+     * Reverts a move played with {@link #makeMove}, given the record it returned.
+     */
+    public void unmakeMove(ChessMove move, int undo) {
+        unmakeMove(Move.of(move), undo);
+    }
+
+    public void unmakeMove(int move, int undo) {
+        setPiece(Move.from(move), pieceFromCode(undo & 0xF));
+        setPiece(Move.to(move), pieceFromCode((undo >>> 4) & 0xF));
+    }
+
+    private static int pieceCode(ChessPiece piece) {
+        return piece == null ? 0 : Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType()) + 1;
+    }
+
+    private static ChessPiece pieceFromCode(int code) {
+        return code == 0 ? null : ChessPiece.of(code - 1);
+    }
+
+    private static int occupancyIndex(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? WHITE_OCCUPANCY : BLACK_OCCUPANCY;
+    }
+
+    private long[] bitboards() {
+        if (bitboards == null) {
+            long[] sets = new long[14];
+            long key = 0L;
+            for (int square = 0; square < 64; square++) {
+                ChessPiece piece = squares[square >>> 3][square & 7];
+                if (piece != null) {
+                    sets[Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType())] |= 1L << square;
+                    sets[occupancyIndex(piece.getTeamColor())] |= 1L << square;
+                    key ^= Zobrist.piece(piece, square);
+                }
+            }
+            bitboards = sets;
+            zobristKey = key;
+        }
+        return bitboards;
+    }
+
     public void resetBoard() {
         squares = new ChessPiece[8][8];  // 8x8 board
+        bitboards = null;
 
         // Place white and black pawns
         for (int i = 1; i <= 8; i++) {
-            addPiece(new ChessPosition(2, i), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-            addPiece(new ChessPosition(7, i), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(2, i), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(7, i), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
         }
 
         // Place white pieces
-        addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(1, 2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1, 3), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(1, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(1, 6), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1, 7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1, 8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1, 1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1, 2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(1, 5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(1, 6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1, 7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1, 8), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
 
         // Place black pieces
-        addPiece(new ChessPosition(8, 1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(8, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8, 3), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8, 4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(8, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(8, 6), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8, 1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8, 2), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8, 3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8, 4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(8, 5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(8, 6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8, 7), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8, 8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
     }
 
     @Override
@@ -62,7 +213,7 @@ public class ChessBoard implements Cloneable {
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(squares);
+        return Long.hashCode(getZobristKey());
     }
 
     @Override
@@ -73,6 +224,7 @@ public class ChessBoard implements Cloneable {
             for (int i = 0; i < squares.length; i++) {
                 cloned.squares[i] = squares[i].clone();  // Deep clone each row
             }
+            cloned.bitboards = bitboards == null ? null : bitboards.clone();
             return cloned;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError("Cloning not supported", e);
@@ -9,6 +9,9 @@ public class ChessGame implements Cloneable {
     private ChessBoard board;
     private TeamColor nowTurn;
     private boolean gameOver; // New field to track game state
+    // Moves played through makeMove or replayMove. Only the server's move log uses it, so it
+    // is left out of JSON and of equality.
+    private transient int ply;
 
     public ChessGame() {
         this.board = new ChessBoard();
@@ -33,6 +36,14 @@ public class ChessGame implements Cloneable {
         this.gameOver = gameOver;
     }
 
+    public int getPly() {
+        return ply;
+    }
+
+    public void setPly(int ply) {
+        this.ply = ply;
+    }
+
 
 
     @Override
@@ -51,7 +62,16 @@ public class ChessGame implements Cloneable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(board, nowTurn, gameOver);
+        return 31 * Long.hashCode(getZobristKey()) + Boolean.hashCode(gameOver);
+    }
+
+    /**
+     * 64-bit Zobrist key of the position: the board's incrementally maintained key combined
+     * with the side to move. Positions with the same pieces and turn share a key.
+     */
+    public long getZobristKey() {
+        long key = board.getZobristKey();
+        return nowTurn == TeamColor.BLACK ? key ^ Zobrist.BLACK_TO_MOVE : key;
     }
 
     public enum TeamColor {
@@ -65,19 +85,7 @@ public class ChessGame implements Cloneable {
             return new ArrayList<>();
         }
 
-        return filterValidMoves(piece.pieceMoves(board, startPosition), piece.getTeamColor());
-    }
-
-    private Collection<ChessMove> filterValidMoves(Collection<ChessMove> moves, TeamColor teamColor) {
-        Collection<ChessMove> validMoves = new ArrayList<>();
-        for (ChessMove move : moves) {
-            ChessGame clonedGame = this.clone();
-            clonedGame.executeMove(move);
-            if (!clonedGame.isInCheck(teamColor)) {
-                validMoves.add(move);
-            }
-        }
-        return validMoves;
+        return new MoveGenerator(board, piece.getTeamColor()).legalMoves(startPosition);
     }
 
     public void makeMove(ChessMove move) throws InvalidMoveException {
@@ -85,7 +93,13 @@ public class ChessGame implements Cloneable {
             throw new InvalidMoveException("Game is over. No further moves can be made.");
         }
 
-        ChessPiece piece = board.getPiece(move.getStartPosition());
+        ChessPosition start = move.getStartPosition();
+        ChessPosition end = move.getEndPosition();
+        if (!Bitboards.onBoard(start.getRow(), start.getColumn()) || !Bitboards.onBoard(end.getRow(), end.getColumn())) {
+            throw new InvalidMoveException("Move is invalid: Position is off the board.");
+        }
+
+        ChessPiece piece = board.getPiece(start);
         if (piece == null) {
             throw new InvalidMoveException("Move is invalid: No piece at that position.");
         }
@@ -93,19 +107,22 @@ public class ChessGame implements Cloneable {
             throw new InvalidMoveException("Move is invalid: Not this team's turn.");
         }
 
-        Collection<ChessMove> legalMoves = validMoves(move.getStartPosition());
-        if (legalMoves == null || !legalMoves.contains(move)) {
+        if (!new MoveGenerator(board, nowTurn).isLegal(Move.of(move))) {
             throw new InvalidMoveException("Move is invalid: Not a legal move.");
         }
 
-        ChessGame clonedGame = this.clone();
-        clonedGame.executeMove(move);
-        if (clonedGame.isInCheck(nowTurn)) {
-            throw new InvalidMoveException("Move is invalid: King would be in check.");
-        }
-
         executeMove(move);
         nowTurn = (nowTurn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+        ply++;
+    }
+
+    /**
+     * Plays a packed {@link Move} from a stored move log without checking it, the way
+     * {@link #makeMove} played it originally.
+     */
+    public void replayMove(int move) {
+        makeMoveUnchecked(move);
+        ply++;
     }
 
     private void executeMove(ChessMove move) {
@@ -116,92 +133,58 @@ public class ChessGame implements Cloneable {
             throw new RuntimeException("Cannot capture a piece of the same team.");
         }
 
-        if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
-            boolean isPromotion = (piece.getTeamColor() == TeamColor.WHITE && move.getEndPosition().getRow() == 8) ||
-                    (piece.getTeamColor() == TeamColor.BLACK && move.getEndPosition().getRow() == 1);
-            if (isPromotion && move.getPromotionPiece() != null) {
-                piece = new ChessPiece(piece.getTeamColor(), move.getPromotionPiece());
-            }
-        }
+        board.makeMove(move);
+    }
 
-        board.addPiece(move.getEndPosition(), piece);
-        board.addPiece(move.getStartPosition(), null);
+    /**
+     * Plays a move in place without legality checks and flips the turn. The returned record
+     * holds the moved and captured pieces plus the previous turn, for {@link #unmakeMove}.
+     */
+    int makeMoveUnchecked(ChessMove move) {
+        return makeMoveUnchecked(Move.of(move));
     }
 
-    private ChessPosition findKing(TeamColor teamColor) {
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition position = new ChessPosition(row, col);
-                ChessPiece piece = board.getPiece(position);
-                if (piece != null && piece.getPieceType() == ChessPiece.PieceType.KING && piece.getTeamColor() == teamColor) {
-                    return position;
-                }
-            }
-        }
-        return null;
-    }
-
-    private Collection<ChessPosition> getAllPieces() {
-        Collection<ChessPosition> pieces = new ArrayList<>();
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition position = new ChessPosition(row, col);
-                ChessPiece piece = board.getPiece(position);
-                if (piece != null) {
-                    pieces.add(position);
-                }
-            }
-        }
-        return pieces;
+    int makeMoveUnchecked(int move) {
+        int undo = board.makeMove(move) | (nowTurn.ordinal() << 8);
+        nowTurn = (nowTurn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+        return undo;
+    }
+
+    void unmakeMove(ChessMove move, int undo) {
+        unmakeMove(Move.of(move), undo);
+    }
+
+    void unmakeMove(int move, int undo) {
+        board.unmakeMove(move, undo & 0xFF);
+        nowTurn = TeamColor.values()[(undo >>> 8) & 1];
+    }
+
+    /**
+     * Fills {@code moves} with every legal move for the side to move, as packed {@link Move}s.
+     */
+    public void legalMoves(MoveList moves) {
+        new MoveGenerator(board, nowTurn).generate(moves);
     }
 
     public boolean isInCheck(TeamColor teamColor) {
-        ChessPosition kingPosition = findKing(teamColor);
-        return checkForCheck(kingPosition, teamColor);
-    }
-
-    private boolean checkForCheck(ChessPosition kingPosition, TeamColor teamColor) {
-        for (ChessPosition pos : getAllPieces()) {
-            ChessPiece piece = board.getPiece(pos);
-            if (piece.getTeamColor() != teamColor) {
-                for (ChessMove move : piece.pieceMoves(board, pos)) {
-                    if (move.getEndPosition().equals(kingPosition)) {
-                        return true;
-                    }
-                }
-            }
+        long king = board.getPieces(teamColor, ChessPiece.PieceType.KING);
+        if (king == 0) {
+            return false;
         }
-        return false;
+        return board.isAttacked(Long.numberOfTrailingZeros(king), Bitboards.opponent(teamColor));
     }
 
     public boolean isInCheckmate(TeamColor teamColor) {
-        if (!isInCheck(teamColor)) {
-            return false;
-        }
-        return noLegalMovesLeft(teamColor);
+        MoveGenerator generator = new MoveGenerator(board, teamColor);
+        return generator.inCheck() && !generator.hasLegalMove();
     }
 
     public boolean isInStalemate(TeamColor teamColor) {
-        if (nowTurn != teamColor || isInCheck(teamColor)) {
+        if (nowTurn != teamColor) {
             return false;
         }
-        return noLegalMovesLeft(teamColor);
-    }
-
-    private boolean noLegalMovesLeft(TeamColor teamColor) {
-        for (ChessPosition pos : getAllPieces()) {
-            ChessPiece piece = board.getPiece(pos);
-            if (piece.getTeamColor() == teamColor) {
-                for (ChessMove move : piece.pieceMoves(board, pos)) {
-                    ChessGame clonedGame = this.clone();
-                    clonedGame.executeMove(move);
-                    if (!clonedGame.isInCheck(teamColor)) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+        MoveGenerator generator = new MoveGenerator(board, teamColor);
+        return !generator.inCheck() && !generator.hasLegalMove();
     }
 
     public void setBoard(ChessBoard board) {
@@ -1,11 +1,32 @@
 package chess;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
 
+@JsonAdapter(ChessPiece.Interning.class)
 public class ChessPiece {
 
+    // One shared instance per color and type, indexed by Bitboards.pieceIndex.
+    private static final ChessPiece[] PIECES = new ChessPiece[12];
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[Bitboards.pieceIndex(color, type)] = new ChessPiece(color, type);
+            }
+        }
+    }
+
     private final ChessGame.TeamColor pieceColor;
     private final PieceType type;
 
@@ -14,6 +35,18 @@ public class ChessPiece {
         this.type = type;
     }
 
+    /**
+     * The canonical instance for a color and type. Pieces are immutable, so boards share
+     * these instead of allocating a new piece for every square.
+     */
+    public static ChessPiece of(ChessGame.TeamColor pieceColor, PieceType type) {
+        return PIECES[Bitboards.pieceIndex(pieceColor, type)];
+    }
+
+    static ChessPiece of(int pieceIndex) {
+        return PIECES[pieceIndex];
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -50,124 +83,98 @@ public class ChessPiece {
 
     public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
         Collection<ChessMove> validMove = new ArrayList<>();
-        switch (this.type) {
-            case PAWN -> pawnMove(board, myPosition, validMove);
-            case ROOK -> rookMove(board, myPosition, validMove);
-            case KNIGHT -> knightMove(board, myPosition, validMove);
-            case BISHOP -> bishopMove(board, myPosition, validMove);
-            case QUEEN -> {
-                rookMove(board, myPosition, validMove); // Queen moves like both rook and bishop
-                bishopMove(board, myPosition, validMove);
-            }
-            case KING -> kingMove(board, myPosition, validMove);
-        }
+        addMoves(myPosition, targets(board, Bitboards.square(myPosition)), validMove);
         return validMove;
     }
 
-    private boolean inBounds(ChessPosition position) {
-        return position.getRow() >= 1 && position.getRow() <= 8 && position.getColumn() >= 1 && position.getColumn() <= 8;
-    }
-
-    private void handlePromotion(ChessPosition myPosition, ChessPosition targetPosition, Collection<ChessMove> validMove) {
-        validMove.add(new ChessMove(myPosition, targetPosition, PieceType.QUEEN));
-        validMove.add(new ChessMove(myPosition, targetPosition, PieceType.ROOK));
-        validMove.add(new ChessMove(myPosition, targetPosition, PieceType.KNIGHT));
-        validMove.add(new ChessMove(myPosition, targetPosition, PieceType.BISHOP));
-    }
-
-    private void pawnMove(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove) {
-        int moveDirection = (this.pieceColor == ChessGame.TeamColor.WHITE) ? 1 : -1;
-        boolean promotion = (this.pieceColor == ChessGame.TeamColor.WHITE && myPosition.getRow() == 7) ||
-                (this.pieceColor == ChessGame.TeamColor.BLACK && myPosition.getRow() == 2);
-
-        ChessPosition forward = new ChessPosition(myPosition.getRow() + moveDirection, myPosition.getColumn());
-        if (inBounds(forward) && board.getPiece(forward) == null) {
-            if (promotion) {
-                handlePromotion(myPosition, forward, validMove);
-            } else {
-                validMove.add(new ChessMove(myPosition, forward, null));
-            }
+    /**
+     * Destination squares for this piece from {@code square}, ignoring whether the move
+     * would leave its own king in check.
+     */
+    long targets(ChessBoard board, int square) {
+        if (this.type != PieceType.PAWN) {
+            return attacks(board, square) & ~board.getOccupancy(this.pieceColor);
         }
-        checkPawnCapture(board, myPosition, validMove, moveDirection, -1, promotion);
-        checkPawnCapture(board, myPosition, validMove, moveDirection, 1, promotion);
-
-        if ((this.pieceColor == ChessGame.TeamColor.WHITE && myPosition.getRow() == 2) ||
-                (this.pieceColor == ChessGame.TeamColor.BLACK && myPosition.getRow() == 7)) {
-            ChessPosition twoMovesForward = new ChessPosition(myPosition.getRow() + 2 * moveDirection, myPosition.getColumn());
-            if (board.getPiece(forward) == null && board.getPiece(twoMovesForward) == null) {
-                validMove.add(new ChessMove(myPosition, twoMovesForward, null));
-            }
+        boolean white = this.pieceColor == ChessGame.TeamColor.WHITE;
+        long empty = ~board.getOccupancy();
+        long pawn = 1L << square;
+
+        long single = (white ? pawn << 8 : pawn >>> 8) & empty;
+        long targets = single;
+        long startRank = white ? Bitboards.RANK_1 << 8 : Bitboards.RANK_8 >>> 8;
+        if ((pawn & startRank) != 0) {
+            targets |= (white ? single << 8 : single >>> 8) & empty;
         }
-    }
-
-    private void checkPawnCapture(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove,
-                                  int rowOffset, int colOffset, boolean promotion) {
-        ChessPosition capturePosition = new ChessPosition(myPosition.getRow() + rowOffset, myPosition.getColumn() + colOffset);
-        if (inBounds(capturePosition) && board.getPiece(capturePosition) != null &&
-                board.getPiece(capturePosition).getTeamColor() != this.pieceColor) {
-            if (promotion) {
-                handlePromotion(myPosition, capturePosition, validMove);
-            } else {
-                validMove.add(new ChessMove(myPosition, capturePosition, null));
-            }
-        }
-    }
-
-    private void rookMove(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove) {
-        checkMovesInMultipleDirections(board, myPosition, validMove, new int[][]{
-                {1, 0}, {-1, 0}, {0, 1}, {0, -1}
-        });
-    }
-
-    private void bishopMove(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove) {
-        checkMovesInMultipleDirections(board, myPosition, validMove, new int[][]{
-                {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
-        });
-    }
-
-    private void kingMove(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove) {
-        int[][] kingMoves = {
-                {0, 1}, {1, 1}, {1, 0}, {1, -1},
-                {0, -1}, {-1, -1}, {-1, 0}, {-1, 1}
-        };
-        checkPredefinedMoves(board, myPosition, validMove, kingMoves);
-    }
-
-    private void knightMove(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove) {
-        int[][] knightMoves = {
-                {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
-                {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
+        return targets | (Bitboards.pawnAttacks(this.pieceColor, square)
+                & board.getOccupancy(Bitboards.opponent(this.pieceColor)));
+    }
+
+    /**
+     * Squares this piece attacks from {@code square}, including squares held by either side.
+     */
+    long attacks(ChessBoard board, int square) {
+        return switch (this.type) {
+            case PAWN -> Bitboards.pawnAttacks(this.pieceColor, square);
+            case KNIGHT -> Bitboards.knightAttacks(square);
+            case KING -> Bitboards.kingAttacks(square);
+            case ROOK -> Bitboards.rookAttacks(square, board.getOccupancy());
+            case BISHOP -> Bitboards.bishopAttacks(square, board.getOccupancy());
+            case QUEEN -> Bitboards.rookAttacks(square, board.getOccupancy())
+                    | Bitboards.bishopAttacks(square, board.getOccupancy()); // Queen moves like both rook and bishop
         };
-        checkPredefinedMoves(board, myPosition, validMove, knightMoves);
     }
 
-    private void checkPredefinedMoves(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove, int[][] predefinedMoves) {
-        for (int[] move : predefinedMoves) {
-            ChessPosition newPosition = new ChessPosition(myPosition.getRow() + move[0], myPosition.getColumn() + move[1]);
-            if (inBounds(newPosition) && (board.getPiece(newPosition) == null || board.getPiece(newPosition).getTeamColor() != this.pieceColor)) {
-                validMove.add(new ChessMove(myPosition, newPosition, null));
-            }
+    /**
+     * Adds a move to each target square, expanding pawn moves onto the last rank into promotions.
+     */
+    void addMoves(ChessPosition myPosition, long targets, Collection<ChessMove> validMove) {
+        long promotions = 0L;
+        if (this.type == PieceType.PAWN) {
+            promotions = targets & (this.pieceColor == ChessGame.TeamColor.WHITE ? Bitboards.RANK_8 : Bitboards.RANK_1);
+            targets &= ~promotions;
+        }
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            validMove.add(new ChessMove(myPosition, Bitboards.position(to), null));
+        }
+        while (promotions != 0) {
+            int to = Long.numberOfTrailingZeros(promotions);
+            promotions &= promotions - 1;
+            handlePromotion(myPosition, Bitboards.position(to), validMove);
         }
     }
 
-    private void checkMovesInMultipleDirections(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove, int[][] directions) {
-        for (int[] direction : directions) {
-            checkMovesInDirection(board, myPosition, validMove, direction[0], direction[1]);
-        }
+    private void handlePromotion(ChessPosition myPosition, ChessPosition targetPosition, Collection<ChessMove> validMove) {
+        validMove.add(new ChessMove(myPosition, targetPosition, PieceType.QUEEN));
+        validMove.add(new ChessMove(myPosition, targetPosition, PieceType.ROOK));
+        validMove.add(new ChessMove(myPosition, targetPosition, PieceType.KNIGHT));
+        validMove.add(new ChessMove(myPosition, targetPosition, PieceType.BISHOP));
     }
 
-    private void checkMovesInDirection(ChessBoard board, ChessPosition myPosition, Collection<ChessMove> validMove, int rowOffset, int colOffset) {
-        for (int r = myPosition.getRow() + rowOffset, c = myPosition.getColumn() + colOffset;
-             inBounds(new ChessPosition(r, c)); r += rowOffset, c += colOffset) {
-            ChessPosition newPosition = new ChessPosition(r, c);
-            if (board.getPiece(newPosition) == null) {
-                validMove.add(new ChessMove(myPosition, newPosition, null));
-            } else {
-                if (board.getPiece(newPosition).getTeamColor() != this.pieceColor) {
-                    validMove.add(new ChessMove(myPosition, newPosition, null));
+    /**
+     * Reads pieces with the default reflective adapter, then swaps in the cached instance.
+     */
+    static class Interning implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            TypeAdapter<ChessPiece> delegate = (TypeAdapter<ChessPiece>) gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new TypeAdapter<ChessPiece>() {
+                @Override
+                public void write(JsonWriter out, ChessPiece value) throws IOException {
+                    delegate.write(out, value);
                 }
-                break;
-            }
+
+                @Override
+                public ChessPiece read(JsonReader in) throws IOException {
+                    ChessPiece piece = delegate.read(in);
+                    if (piece == null || piece.pieceColor == null || piece.type == null) {
+                        return piece;
+                    }
+                    return of(piece.pieceColor, piece.type);
+                }
+            };
         }
     }
 }
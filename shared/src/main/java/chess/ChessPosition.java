@@ -1,9 +1,28 @@
 package chess;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.Objects;
 
+@JsonAdapter(ChessPosition.Interning.class)
 public class ChessPosition {
 
+    // One shared instance per on-board square, indexed by Bitboards.square.
+    private static final ChessPosition[] SQUARES = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            SQUARES[square] = new ChessPosition(Bitboards.row(square), Bitboards.column(square));
+        }
+    }
+
     private final int row;
     private final int col;
 
@@ -12,6 +31,18 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * The canonical instance for a square. Positions on the board are cached, so the same
+     * row and column always return the same object; off-board positions are created fresh.
+     */
+    public static ChessPosition of(int row, int col) {
+        return Bitboards.onBoard(row, col) ? SQUARES[Bitboards.square(row, col)] : new ChessPosition(row, col);
+    }
+
+    static ChessPosition of(int square) {
+        return SQUARES[square];
+    }
+
     public int getRow() {
         return row;
     }
@@ -36,4 +67,27 @@ public class ChessPosition {
     public int hashCode() {
         return Objects.hash(row, col);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads positions with the default reflective adapter, then swaps in the cached instance.
+     */
+    static class Interning implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            TypeAdapter<ChessPosition> delegate = (TypeAdapter<ChessPosition>) gson.getDelegateAdapter(this, type);
+            return (TypeAdapter<T>) new TypeAdapter<ChessPosition>() {
+                @Override
+                public void write(JsonWriter out, ChessPosition value) throws IOException {
+                    delegate.write(out, value);
+                }
+
+                @Override
+                public ChessPosition read(JsonReader in) throws IOException {
+                    ChessPosition position = delegate.read(in);
+                    return position == null ? null : of(position.row, position.col);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package chess;
+
+/**
+ * Reads positions written in Forsyth-Edwards Notation. Only piece placement and the side to
+ * move are used; the castling, en passant and move counter fields are accepted but ignored
+ * because the rules engine does not track them.
+ */
+public final class Fen {
+
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private Fen() {
+    }
+
+    public static ChessGame parse(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        String[] ranks = fields[0].split("/");
+        if (ranks.length != 8) {
+            throw new IllegalArgumentException("FEN must describe 8 ranks: " + fen);
+        }
+
+        ChessBoard board = new ChessBoard();
+        for (int i = 0; i < 8; i++) {
+            int row = 8 - i;
+            int col = 1;
+            for (char c : ranks[i].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    col += c - '0';
+                } else {
+                    if (col > 8) {
+                        throw new IllegalArgumentException("Too many squares on rank " + row + ": " + fen);
+                    }
+                    board.addPiece(ChessPosition.of(row, col), toPiece(c, fen));
+                    col++;
+                }
+            }
+            if (col != 9) {
+                throw new IllegalArgumentException("Rank " + row + " does not have 8 squares: " + fen);
+            }
+        }
+
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        if (fields.length > 1) {
+            switch (fields[1]) {
+                case "w" -> game.setTeamTurn(ChessGame.TeamColor.WHITE);
+                case "b" -> game.setTeamTurn(ChessGame.TeamColor.BLACK);
+                default -> throw new IllegalArgumentException("Side to move must be w or b: " + fen);
+            }
+        }
+        return game;
+    }
+
+    private static ChessPiece toPiece(char c, String fen) {
+        ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        ChessPiece.PieceType type = switch (Character.toLowerCase(c)) {
+            case 'k' -> ChessPiece.PieceType.KING;
+            case 'q' -> ChessPiece.PieceType.QUEEN;
+            case 'r' -> ChessPiece.PieceType.ROOK;
+            case 'b' -> ChessPiece.PieceType.BISHOP;
+            case 'n' -> ChessPiece.PieceType.KNIGHT;
+            case 'p' -> ChessPiece.PieceType.PAWN;
+            default -> throw new IllegalArgumentException("Unknown piece '" + c + "': " + fen);
+        };
+        return ChessPiece.of(color, type);
+    }
+}
@@ -0,0 +1,58 @@
+package chess;
+
+/**
+ * Compact binary form of a {@link ChessGame} for storage: a format byte, a flags byte (side to
+ * move and game over) and the 64 squares packed two to a byte, 34 bytes in all. Each square is
+ * a nibble holding 0 for empty or {@code Bitboards.pieceIndex + 1}, starting from a1.
+ */
+public final class GameCodec {
+
+    public static final int ENCODED_LENGTH = 34;
+
+    private static final byte FORMAT = 1;
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int GAME_OVER = 2;
+
+    private GameCodec() {
+    }
+
+    public static byte[] encode(ChessGame game) {
+        byte[] bytes = new byte[ENCODED_LENGTH];
+        bytes[0] = FORMAT;
+        bytes[1] = (byte) ((game.getTeamTurn() == ChessGame.TeamColor.BLACK ? BLACK_TO_MOVE : 0)
+                | (game.isGameOver() ? GAME_OVER : 0));
+        ChessBoard board = game.getBoard();
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = board.getPiece(square);
+            if (piece != null) {
+                int code = Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType()) + 1;
+                bytes[2 + (square >>> 1)] |= (byte) (code << ((square & 1) << 2));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a game written by {@link #encode}
+     */
+    public static ChessGame decode(byte[] bytes) {
+        if (bytes.length != ENCODED_LENGTH || bytes[0] != FORMAT) {
+            throw new IllegalArgumentException("Not an encoded game (" + bytes.length + " bytes)");
+        }
+        ChessBoard board = new ChessBoard();
+        for (int square = 0; square < 64; square++) {
+            int code = (bytes[2 + (square >>> 1)] >>> ((square & 1) << 2)) & 0xF;
+            if (code > 12) {
+                throw new IllegalArgumentException("Bad piece code " + code + " on square " + square);
+            }
+            if (code != 0) {
+                board.setPiece(square, ChessPiece.of(code - 1));
+            }
+        }
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        game.setTeamTurn((bytes[1] & BLACK_TO_MOVE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+        game.setGameOver((bytes[1] & GAME_OVER) != 0);
+        return game;
+    }
+}
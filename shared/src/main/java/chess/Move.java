@@ -0,0 +1,57 @@
+package chess;
+
+/**
+ * Packs a move into the low 16 bits of an int so the engine can generate, store and play
+ * moves without allocating. {@link ChessMove} stays the type used at API boundaries.
+ * <pre>
+ *   bits 0-5    start square (0-63, a1 = 0)
+ *   bits 6-11   end square
+ *   bits 12-14  promotion piece: 0 for none, otherwise PieceType ordinal + 1
+ *   bit  15     capture flag
+ * </pre>
+ * The capture flag is informational; {@link #sameMove} ignores it.
+ */
+public final class Move {
+
+    public static final int CAPTURE = 1 << 15;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private Move() {
+    }
+
+    public static int encode(int from, int to, ChessPiece.PieceType promotion, boolean capture) {
+        return from | (to << 6) | (promotion == null ? 0 : (promotion.ordinal() + 1) << 12)
+                | (capture ? CAPTURE : 0);
+    }
+
+    public static int of(ChessMove move) {
+        return encode(Bitboards.square(move.getStartPosition()), Bitboards.square(move.getEndPosition()),
+                move.getPromotionPiece(), false);
+    }
+
+    public static ChessMove toChessMove(int move) {
+        return new ChessMove(Bitboards.position(from(move)), Bitboards.position(to(move)), promotion(move));
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static ChessPiece.PieceType promotion(int move) {
+        int code = (move >>> 12) & 0x7;
+        return code == 0 ? null : TYPES[code - 1];
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    public static boolean sameMove(int first, int second) {
+        return ((first ^ second) & (CAPTURE - 1)) == 0;
+    }
+}
@@ -0,0 +1,169 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Generates strictly legal moves for one side of a position. Checkers and pinned pieces
+ * are found once, by scanning the rays out from the king, so individual moves never have
+ * to be played out and tested for check.
+ */
+final class MoveGenerator {
+
+    private final ChessBoard board;
+    private final ChessGame.TeamColor color;
+    private final int kingSquare;
+    private final long checkers;
+    private final long pinned;
+    // Squares a non-king move must land on: everywhere, or the checker and the squares blocking it.
+    private final long evasionMask;
+
+    MoveGenerator(ChessBoard board, ChessGame.TeamColor color) {
+        this.board = board;
+        this.color = color;
+        long king = board.getPieces(color, ChessPiece.PieceType.KING);
+        if (king == 0) {
+            kingSquare = -1;
+            checkers = 0L;
+            pinned = 0L;
+            evasionMask = -1L;
+            return;
+        }
+        kingSquare = Long.numberOfTrailingZeros(king);
+        ChessGame.TeamColor enemy = Bitboards.opponent(color);
+        checkers = board.attackersTo(kingSquare, enemy, board.getOccupancy());
+        pinned = findPinned(enemy);
+        if (checkers == 0) {
+            evasionMask = -1L;
+        } else if (Long.bitCount(checkers) == 1) {
+            evasionMask = checkers | Bitboards.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+        } else {
+            evasionMask = 0L;
+        }
+    }
+
+    /**
+     * Our pieces that are the only blocker between the king and an enemy slider.
+     */
+    private long findPinned(ChessGame.TeamColor enemy) {
+        long enemyQueens = board.getPieces(enemy, ChessPiece.PieceType.QUEEN);
+        long enemyPieces = board.getOccupancy(enemy);
+        // Look through our own pieces to find every slider lined up with the king.
+        long snipers = (Bitboards.rookAttacks(kingSquare, enemyPieces)
+                & (board.getPieces(enemy, ChessPiece.PieceType.ROOK) | enemyQueens))
+                | (Bitboards.bishopAttacks(kingSquare, enemyPieces)
+                & (board.getPieces(enemy, ChessPiece.PieceType.BISHOP) | enemyQueens));
+        long ours = board.getOccupancy(color);
+        long result = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Bitboards.between(kingSquare, sniper) & board.getOccupancy();
+            if (Long.bitCount(blockers) == 1 && (blockers & ours) != 0) {
+                result |= blockers;
+            }
+        }
+        return result;
+    }
+
+    boolean inCheck() {
+        return checkers != 0;
+    }
+
+    /**
+     * Legal destination squares for the piece of this side standing on {@code from}.
+     */
+    long legalTargets(int from) {
+        ChessPiece piece = board.getPiece(from);
+        long targets = piece.targets(board, from);
+        if (from == kingSquare) {
+            return kingTargets(targets);
+        }
+        targets &= evasionMask;
+        if ((pinned & (1L << from)) != 0) {
+            targets &= Bitboards.line(kingSquare, from);
+        }
+        return targets;
+    }
+
+    private long kingTargets(long targets) {
+        ChessGame.TeamColor enemy = Bitboards.opponent(color);
+        // Take the king off the board so sliders checking it also cover the squares behind it.
+        long occupied = board.getOccupancy() & ~(1L << kingSquare);
+        long safe = 0L;
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            if (board.attackersTo(to, enemy, occupied) == 0) {
+                safe |= 1L << to;
+            }
+        }
+        return safe;
+    }
+
+    /**
+     * Appends every legal move for this side to {@code moves}.
+     */
+    void generate(MoveList moves) {
+        long enemies = board.getOccupancy(Bitboards.opponent(color));
+        long lastRank = color == ChessGame.TeamColor.WHITE ? Bitboards.RANK_8 : Bitboards.RANK_1;
+        long pieces = board.getOccupancy(color);
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long targets = legalTargets(from);
+            boolean pawn = board.getPiece(from).getPieceType() == ChessPiece.PieceType.PAWN;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                boolean capture = (enemies & (1L << to)) != 0;
+                if (pawn && (lastRank & (1L << to)) != 0) {
+                    moves.add(Move.encode(from, to, ChessPiece.PieceType.QUEEN, capture));
+                    moves.add(Move.encode(from, to, ChessPiece.PieceType.ROOK, capture));
+                    moves.add(Move.encode(from, to, ChessPiece.PieceType.KNIGHT, capture));
+                    moves.add(Move.encode(from, to, ChessPiece.PieceType.BISHOP, capture));
+                } else {
+                    moves.add(Move.encode(from, to, null, capture));
+                }
+            }
+        }
+    }
+
+    /**
+     * True if the packed move is one {@link #generate} would produce. Pawn moves onto the last
+     * rank must name a promotion piece, and no other move may.
+     */
+    boolean isLegal(int move) {
+        int from = Move.from(move);
+        ChessPiece piece = board.getPiece(from);
+        if (piece == null || piece.getTeamColor() != color
+                || (legalTargets(from) & (1L << Move.to(move))) == 0) {
+            return false;
+        }
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        long lastRank = color == ChessGame.TeamColor.WHITE ? Bitboards.RANK_8 : Bitboards.RANK_1;
+        if (piece.getPieceType() == ChessPiece.PieceType.PAWN && (lastRank & (1L << Move.to(move))) != 0) {
+            return promotion != null && promotion != ChessPiece.PieceType.KING
+                    && promotion != ChessPiece.PieceType.PAWN;
+        }
+        return promotion == null;
+    }
+
+    Collection<ChessMove> legalMoves(ChessPosition from) {
+        Collection<ChessMove> moves = new ArrayList<>();
+        board.getPiece(from).addMoves(from, legalTargets(Bitboards.square(from)), moves);
+        return moves;
+    }
+
+    boolean hasLegalMove() {
+        long pieces = board.getOccupancy(color);
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            if (legalTargets(from) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,37 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of packed {@link Move} ints. Meant to be cleared and refilled rather than
+ * reallocated, so generating moves into it creates no objects.
+ */
+public final class MoveList {
+
+    // No legal chess position has more than 218 moves.
+    private int[] moves = new int[256];
+    private int size;
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
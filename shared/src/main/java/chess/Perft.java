@@ -0,0 +1,210 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Perft driver: counts the leaf nodes of the legal move tree to a fixed depth. The counts
+ * check the move generator against known values (or against the reference generator) and
+ * the timings track generator throughput.
+ * <br/>
+ * Usage: {@code Perft [--divide] [--reference] [--threads N] depth [fen ...]}. With no FEN
+ * the standard starting position is used. Positions run in parallel, one per thread.
+ */
+public final class Perft {
+
+    private Perft() {
+    }
+
+    /**
+     * Counts leaf nodes using the legal move generator with packed moves and in-place
+     * make/unmake. One {@link MoveList} per ply is reused, so the search allocates nothing
+     * per move.
+     */
+    public static long perft(ChessGame game, int depth) {
+        MoveList[] lists = new MoveList[Math.max(depth, 1)];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new MoveList();
+        }
+        return perft(game, depth, lists);
+    }
+
+    private static long perft(ChessGame game, int depth, MoveList[] lists) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = lists[depth - 1];
+        moves.clear();
+        game.legalMoves(moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int undo = game.makeMoveUnchecked(move);
+            nodes += perft(game, depth - 1, lists);
+            game.unmakeMove(move, undo);
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts leaf nodes the slow way: every {@link ChessPiece#pieceMoves} result is played on
+     * a cloned game and kept if it does not leave the mover in check. Used to validate
+     * {@link #perft}.
+     */
+    public static long perftReference(ChessGame game, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long nodes = 0;
+        for (ChessMove move : referenceMoves(game)) {
+            ChessGame next = game.clone();
+            next.makeMoveUnchecked(move);
+            nodes += perftReference(next, depth - 1);
+        }
+        return nodes;
+    }
+
+    /**
+     * Leaf counts below each root move, in generation order.
+     */
+    public static Map<ChessMove, Long> divide(ChessGame game, int depth, boolean reference) {
+        Map<ChessMove, Long> counts = new LinkedHashMap<>();
+        for (ChessMove move : reference ? referenceMoves(game) : legalMoves(game)) {
+            ChessGame next = game.clone();
+            next.makeMoveUnchecked(move);
+            counts.put(move, reference ? perftReference(next, depth - 1) : perft(next, depth - 1));
+        }
+        return counts;
+    }
+
+    private static List<ChessMove> legalMoves(ChessGame game) {
+        MoveList packed = new MoveList();
+        game.legalMoves(packed);
+        List<ChessMove> moves = new ArrayList<>();
+        for (int i = 0; i < packed.size(); i++) {
+            moves.add(Move.toChessMove(packed.get(i)));
+        }
+        return moves;
+    }
+
+    private static List<ChessMove> referenceMoves(ChessGame game) {
+        List<ChessMove> moves = new ArrayList<>();
+        ChessGame.TeamColor mover = game.getTeamTurn();
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPosition position = ChessPosition.of(row, col);
+                ChessPiece piece = game.getBoard().getPiece(position);
+                if (piece == null || piece.getTeamColor() != mover) {
+                    continue;
+                }
+                for (ChessMove move : piece.pieceMoves(game.getBoard(), position)) {
+                    ChessGame next = game.clone();
+                    next.makeMoveUnchecked(move);
+                    if (!next.isInCheck(mover)) {
+                        moves.add(move);
+                    }
+                }
+            }
+        }
+        return moves;
+    }
+
+    static String toAlgebraic(ChessMove move) {
+        StringBuilder text = new StringBuilder()
+                .append(square(move.getStartPosition()))
+                .append(square(move.getEndPosition()));
+        if (move.getPromotionPiece() != null) {
+            text.append(switch (move.getPromotionPiece()) {
+                case QUEEN -> 'q';
+                case ROOK -> 'r';
+                case BISHOP -> 'b';
+                case KNIGHT -> 'n';
+                default -> '?';
+            });
+        }
+        return text.toString();
+    }
+
+    private static String square(ChessPosition position) {
+        return "" + (char) ('a' + position.getColumn() - 1) + position.getRow();
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean divide = false;
+        boolean reference = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Integer depth = null;
+        List<String> positions = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--divide" -> divide = true;
+                case "--reference" -> reference = true;
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                default -> {
+                    if (depth == null) {
+                        depth = Integer.parseInt(args[i]);
+                    } else {
+                        positions.add(args[i]);
+                    }
+                }
+            }
+        }
+        if (depth == null) {
+            System.out.println("Usage: Perft [--divide] [--reference] [--threads N] depth [fen ...]");
+            return;
+        }
+        if (positions.isEmpty()) {
+            positions.add(Fen.START_POSITION);
+        }
+
+        final int searchDepth = depth;
+        final boolean showDivide = divide;
+        final boolean useReference = reference;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, positions.size()));
+        try {
+            List<Future<String>> reports = new ArrayList<>();
+            for (String fen : positions) {
+                reports.add(executor.submit(() -> run(fen, searchDepth, showDivide, useReference)));
+            }
+            long start = System.nanoTime();
+            for (Future<String> report : reports) {
+                System.out.print(report.get());
+            }
+            if (positions.size() > 1) {
+                System.out.printf("All %d positions finished in %d ms%n",
+                        positions.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String run(String fen, int depth, boolean divide, boolean reference) {
+        ChessGame game = Fen.parse(fen);
+        StringBuilder report = new StringBuilder("Position: ").append(fen).append(System.lineSeparator());
+        long start = System.nanoTime();
+        long nodes;
+        if (divide) {
+            nodes = 0;
+            for (Map.Entry<ChessMove, Long> entry : divide(game, depth, reference).entrySet()) {
+                report.append("  ").append(toAlgebraic(entry.getKey())).append(": ")
+                        .append(entry.getValue()).append(System.lineSeparator());
+                nodes += entry.getValue();
+            }
+        } else {
+            nodes = reference ? perftReference(game, depth) : perft(game, depth);
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        report.append(String.format("  depth %d: %d nodes in %d ms (%.0f nodes/s)%n",
+                depth, nodes, elapsed / 1_000_000, nodes * 1e9 / elapsed));
+        return report.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package chess;
+
+/**
+ * Random keys for Zobrist hashing. A position's key is the XOR of one key per piece on its
+ * square, plus {@link #BLACK_TO_MOVE} when black is to move, so moving a piece only needs
+ * two or three XORs to update it.
+ * <br/>
+ * The keys come from a fixed-seed SplitMix64 sequence so they are identical on every JVM
+ * and can be stored alongside saved games.
+ */
+final class Zobrist {
+
+    static final long BLACK_TO_MOVE;
+
+    private static final long[][] PIECE_SQUARE = new long[12][64];
+
+    static {
+        long state = 0x5EED_C0FF_EE15_600DL;
+        for (long[] keys : PIECE_SQUARE) {
+            for (int square = 0; square < 64; square++) {
+                state += 0x9E3779B97F4A7C15L;
+                keys[square] = mix(state);
+            }
+        }
+        state += 0x9E3779B97F4A7C15L;
+        BLACK_TO_MOVE = mix(state);
+    }
+
+    private Zobrist() {
+    }
+
+    static long piece(ChessPiece piece, int square) {
+        return PIECE_SQUARE[Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType())][square];
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,10 @@
+package model;
+
+import java.util.List;
+
+/**
+ * One page of the game list. {@code nextCursor} is the {@code after} value for the next page,
+ * or null on the last page.
+ */
+public record GamePage(List<GameSummary> games, Integer nextCursor) {
+}
@@ -0,0 +1,39 @@
+package model;
+
+/**
+ * One page request for the game list: up to {@code limit} games with IDs above {@code after},
+ * in ID order. {@code player} and {@code status} narrow the list when not null.
+ */
+public record GameQuery(int after, int limit, String player, GameSummary.Status status) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    public GameQuery {
+        if (after < 0) {
+            throw new IllegalArgumentException("Cursor cannot be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    public static GameQuery firstPage() {
+        return new GameQuery(0, DEFAULT_LIMIT, null, null);
+    }
+
+    /**
+     * The same query, continuing after the given game.
+     */
+    public GameQuery after(int gameID) {
+        return new GameQuery(gameID, limit, player, status);
+    }
+
+    /**
+     * Whether a game belongs in this query's results, ignoring the page bounds.
+     */
+    public boolean matches(GameSummary game) {
+        return (player == null || player.equals(game.whiteUsername()) || player.equals(game.blackUsername()))
+                && (status == null || status == game.status());
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * What the game list shows for one game: everything but the board, so listing never has to
+ * load or parse game state.
+ */
+public record GameSummary(int gameID, String whiteUsername, String blackUsername, String gameName, Status status) {
+
+    public enum Status {
+        /** At least one seat is still free. */
+        OPEN,
+        /** Both seats are taken and the game is still being played. */
+        IN_PROGRESS,
+        /** Someone won, resigned or the game was drawn. */
+        FINISHED
+    }
+
+    public static GameSummary of(GameData gameData) {
+        return new GameSummary(gameData.gameID(), gameData.whiteUsername(), gameData.blackUsername(),
+                gameData.gameName(), status(gameData.whiteUsername(), gameData.blackUsername(),
+                        gameData.game() != null && gameData.game().isGameOver()));
+    }
+
+    public static Status status(String whiteUsername, String blackUsername, boolean gameOver) {
+        if (gameOver) {
+            return Status.FINISHED;
+        }
+        return whiteUsername == null || blackUsername == null ? Status.OPEN : Status.IN_PROGRESS;
+    }
+}
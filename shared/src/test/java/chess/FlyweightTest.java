@@ -0,0 +1,42 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlyweightTest {
+
+    @Test
+    @DisplayName("Positive Test: Factories Return Canonical Instances")
+    public void testCanonicalInstances() {
+        assertSame(ChessPosition.of(3, 4), ChessPosition.of(3, 4));
+        assertEquals(new ChessPosition(3, 4), ChessPosition.of(3, 4));
+        assertSame(ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK),
+                ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        assertEquals(new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK),
+                ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+    }
+
+    @Test
+    @DisplayName("Negative Test: Off-Board Positions Are Not Cached")
+    public void testOffBoardPosition() {
+        ChessPosition offBoard = ChessPosition.of(0, 9);
+        assertEquals(0, offBoard.getRow());
+        assertEquals(9, offBoard.getColumn());
+        assertNotSame(offBoard, ChessPosition.of(0, 9));
+    }
+
+    @Test
+    @DisplayName("Positive Test: Deserialized Games Share Canonical Pieces")
+    public void testGsonInterning() {
+        Gson gson = new Gson();
+        ChessGame game = new ChessGame();
+        ChessGame copy = gson.fromJson(gson.toJson(game), ChessGame.class);
+        assertEquals(game, copy);
+        assertSame(ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING),
+                copy.getBoard().getPiece(ChessPosition.of(1, 5)));
+        assertSame(ChessPosition.of(2, 5),
+                gson.fromJson(gson.toJson(new ChessPosition(2, 5)), ChessPosition.class));
+    }
+}
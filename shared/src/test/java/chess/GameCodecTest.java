@@ -0,0 +1,44 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameCodecTest {
+
+    @Test
+    @DisplayName("Positive Test: Games Survive A Round Trip")
+    public void testRoundTrip() {
+        ChessGame start = new ChessGame();
+        assertEquals(start, GameCodec.decode(GameCodec.encode(start)));
+
+        ChessGame kiwipete = Fen.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b KQkq - 0 1");
+        kiwipete.setGameOver(true);
+        ChessGame decoded = GameCodec.decode(GameCodec.encode(kiwipete));
+        assertEquals(kiwipete, decoded);
+        assertEquals(ChessGame.TeamColor.BLACK, decoded.getTeamTurn());
+        assertTrue(decoded.isGameOver());
+        assertEquals(kiwipete.getZobristKey(), decoded.getZobristKey());
+    }
+
+    @Test
+    @DisplayName("Positive Test: Encoding Is Far Smaller Than JSON")
+    public void testSize() {
+        ChessGame game = new ChessGame();
+        assertEquals(GameCodec.ENCODED_LENGTH, GameCodec.encode(game).length);
+        assertTrue(new Gson().toJson(game).length() > 10 * GameCodec.ENCODED_LENGTH);
+    }
+
+    @Test
+    @DisplayName("Negative Test: Malformed Bytes Are Rejected")
+    public void testMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(new byte[10]));
+        byte[] bytes = GameCodec.encode(new ChessGame());
+        bytes[0] = 9;
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(bytes));
+        byte[] badPiece = GameCodec.encode(new ChessGame());
+        badPiece[20] = (byte) 0xFF;
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(badPiece));
+    }
+}
@@ -0,0 +1,52 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveTest {
+
+    @Test
+    @DisplayName("Positive Test: ChessMove Round Trip")
+    public void testRoundTrip() {
+        ChessMove quiet = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        ChessMove promotion = new ChessMove(new ChessPosition(7, 1), new ChessPosition(8, 2), ChessPiece.PieceType.KNIGHT);
+        assertEquals(quiet, Move.toChessMove(Move.of(quiet)));
+        assertEquals(promotion, Move.toChessMove(Move.of(promotion)));
+        assertTrue(Move.of(promotion) < (1 << 16), "Packed moves should fit in 16 bits");
+    }
+
+    @Test
+    @DisplayName("Positive Test: Generated Moves Match validMoves")
+    public void testGeneratedMovesMatchValidMoves() {
+        ChessGame game = Fen.parse("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4");
+        MoveList moves = new MoveList();
+        game.legalMoves(moves);
+        int expected = 0;
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = game.getBoard().getPiece(new ChessPosition(row, col));
+                if (piece != null && piece.getTeamColor() == ChessGame.TeamColor.WHITE) {
+                    expected += game.validMoves(new ChessPosition(row, col)).size();
+                }
+            }
+        }
+        assertEquals(expected, moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            ChessMove move = Move.toChessMove(moves.get(i));
+            assertTrue(game.validMoves(move.getStartPosition()).contains(move));
+            boolean capture = game.getBoard().getPiece(move.getEndPosition()) != null;
+            assertEquals(capture, Move.isCapture(moves.get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Negative Test: Promotion Piece Required On Last Rank")
+    public void testPromotionRequired() {
+        ChessGame game = Fen.parse("8/P6k/8/8/8/8/8/K7 w - - 0 1");
+        ChessMove noPromotion = new ChessMove(new ChessPosition(7, 1), new ChessPosition(8, 1), null);
+        assertThrows(InvalidMoveException.class, () -> game.makeMove(noPromotion));
+        ChessMove offBoard = new ChessMove(new ChessPosition(7, 1), new ChessPosition(9, 1), null);
+        assertThrows(InvalidMoveException.class, () -> game.makeMove(offBoard));
+    }
+}
@@ -0,0 +1,63 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftTest {
+
+    // Positions without castling or en passant, so the published counts apply to this ruleset.
+    private static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    private static final String PROMOTIONS = "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1";
+
+    @Test
+    @DisplayName("Positive Test: Start Position Counts")
+    public void testStartPosition() {
+        long[] expected = {1, 20, 400, 8902, 197281};
+        for (int depth = 0; depth < expected.length; depth++) {
+            assertEquals(expected[depth], Perft.perft(Fen.parse(Fen.START_POSITION), depth),
+                    "Wrong node count at depth " + depth);
+        }
+    }
+
+    @Test
+    @DisplayName("Positive Test: Promotion Heavy Position Counts")
+    public void testPromotions() {
+        long[] expected = {1, 24, 496, 9483, 182838};
+        for (int depth = 0; depth < expected.length; depth++) {
+            assertEquals(expected[depth], Perft.perft(Fen.parse(PROMOTIONS), depth),
+                    "Wrong node count at depth " + depth);
+        }
+    }
+
+    @Test
+    @DisplayName("Positive Test: Endgame Position Counts")
+    public void testEndgame() {
+        assertEquals(14, Perft.perft(Fen.parse(ENDGAME), 1));
+        assertEquals(191, Perft.perft(Fen.parse(ENDGAME), 2));
+    }
+
+    @Test
+    @DisplayName("Positive Test: Generator Matches Reference")
+    public void testMatchesReference() {
+        for (String fen : new String[]{Fen.START_POSITION, ENDGAME, PROMOTIONS}) {
+            assertEquals(Perft.perftReference(Fen.parse(fen), 3), Perft.perft(Fen.parse(fen), 3),
+                    "Generators disagree on " + fen);
+        }
+    }
+
+    @Test
+    @DisplayName("Positive Test: Divide Sums To Total")
+    public void testDivide() {
+        var counts = Perft.divide(Fen.parse(Fen.START_POSITION), 3, false);
+        assertEquals(20, counts.size());
+        assertEquals(8902, counts.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    @DisplayName("Negative Test: Malformed FEN")
+    public void testMalformedFen() {
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8 w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse("8/8/8/8/8/8/8/7x w - - 0 1"));
+    }
+}